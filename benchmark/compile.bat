@@ -0,0 +1,10 @@
+if exist build rmdir /s /q build
+mkdir build\classes
+dir /s /b src\*.java > sources.txt
+javac -encoding UTF-8 -cp ..\bin;..\my-plugin.jar;lib\* -processorpath lib\* -d build\classes @sources.txt
+if errorlevel 1 (
+    echo [ERROR] Failed to compile benchmarks!
+    pause
+    exit /b 1
+)
+echo [SUCCESS] OK!
@@ -0,0 +1,2 @@
+@echo off
+java -cp build\classes;..\bin;..\my-plugin.jar;lib\* org.openjdk.jmh.Main -rf json -rff results.json %*
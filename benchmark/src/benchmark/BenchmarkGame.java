@@ -0,0 +1,56 @@
+package benchmark;
+
+import game.api.IPlayer;
+import game.engine.GameContext;
+import game.engine.GameEngine;
+import game.engine.Player;
+import plugin.api.IMapProvider;
+import plugin.api.IRuleSetProvider;
+import plugin.map.RandomMapProvider;
+import plugin.rule.DefaultRuleSetProvider;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * 基准测试共用的无界面对局：固定种子的随机地图 + 默认规则集
+ */
+final class BenchmarkGame {
+    static final long SEED = 42L;
+    static final int PATH_LENGTH = 52;
+
+    final GameContext context;
+    final GameEngine engine;
+    final IPlayer[] players;
+
+    BenchmarkGame(int playerCount, int chessmanCount) {
+        this(new RandomMapProvider(4, PATH_LENGTH, SEED), new DefaultRuleSetProvider(), playerCount, chessmanCount);
+    }
+
+    BenchmarkGame(IMapProvider mapProvider, IRuleSetProvider ruleSet, int playerCount, int chessmanCount) {
+        context = new GameContext();
+        context.setVerbose(false);
+        context.setSeed(SEED);
+        context.setMapProvider(mapProvider);
+        context.setRuleSetProvider(ruleSet);
+        engine = new GameEngine(context);
+        engine.setBoard(new game.engine.Board(context));
+
+        players = new IPlayer[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player("P" + (i + 1), i, chessmanCount);
+        }
+        engine.initialize(Arrays.asList(players));
+        engine.start();
+    }
+
+    /**
+     * 插件生成地图时会向标准输出打印日志，测量期间将其屏蔽，避免测到控制台开销
+     */
+    static PrintStream silenceStdout() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return original;
+    }
+}
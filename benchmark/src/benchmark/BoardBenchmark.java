@@ -0,0 +1,91 @@
+package benchmark;
+
+import game.api.IBoard;
+import game.api.IChessman;
+import game.engine.Chessman;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board.moveChessman（1-12 步，含落点方块效果）与 Board.getChessmenAt 的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({ "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12" })
+    public int steps;
+
+    private BenchmarkGame game;
+    private IBoard board;
+    private Chessman chessman;
+    private PrintStream stdout;
+
+    @Setup
+    public void setup() {
+        stdout = BenchmarkGame.silenceStdout();
+        game = new BenchmarkGame(4, 4);
+        board = game.context.getBoard();
+        chessman = (Chessman) game.players[0].getChessman()[0];
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * 从待起飞区出发移动 steps 步，落点方块效果照常触发
+     */
+    @Benchmark
+    public boolean moveChessman() {
+        chessman.reset();
+        return board.moveChessman(chessman, steps);
+    }
+
+    @State(Scope.Thread)
+    public static class Occupancy {
+        @Param({ "2", "4" })
+        public int players;
+
+        BenchmarkGame game;
+        int mapSize;
+
+        @Setup
+        public void setup() {
+            PrintStream stdout = BenchmarkGame.silenceStdout();
+            try {
+                game = new BenchmarkGame(players, 4);
+                mapSize = game.context.getMapProvider().getMapSize();
+                // 将棋子分散到地图上
+                int position = 0;
+                for (int p = 0; p < game.players.length; p++) {
+                    for (IChessman c : game.players[p].getChessman()) {
+                        c.setPosition(position);
+                        position = (position + 7) % (mapSize - 1);
+                    }
+                }
+            } finally {
+                System.setOut(stdout);
+            }
+        }
+    }
+
+    /**
+     * 按渲染器的方式逐格查询整张地图上的棋子
+     */
+    @Benchmark
+    public void getChessmenAtWholeMap(Occupancy state, Blackhole blackhole) {
+        IBoard occupancyBoard = state.game.context.getBoard();
+        for (int position = 0; position < state.mapSize; position++) {
+            blackhole.consume(occupancyBoard.getChessmenAt(position));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import game.engine.Dice;
+import game.engine.RandomSource;
+import org.openjdk.jmh.annotations.*;
+import plugin.api.WeightedDice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 掷骰开销：均匀六面骰、灌铅骰子与 2d6 求和，预生成缓冲与逐次掷骰对比
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+
+    @Param({ "d6", "loaded", "2d6" })
+    public String dice;
+
+    private WeightedDice provider;
+    private RandomSource random;
+    private Dice buffered;
+
+    @Setup
+    public void setup() {
+        switch (dice) {
+            case "loaded":
+                provider = WeightedDice.weighted(1, 1, 1, 1, 2, 4);
+                break;
+            case "2d6":
+                provider = WeightedDice.of(2, 1, 1, 1, 1, 1, 1);
+                break;
+            default:
+                provider = WeightedDice.uniform(6);
+        }
+        random = new RandomSource(42L);
+        buffered = new Dice(new RandomSource(42L));
+        buffered.setProvider(provider);
+    }
+
+    @Benchmark
+    public int roll() {
+        return provider.roll(random);
+    }
+
+    @Benchmark
+    public int bufferedRoll() {
+        return buffered.roll();
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import game.api.EventType;
+import game.api.IEventBus;
+import game.engine.EventBus;
+import game.engine.GameEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventBus.publish 在 0、1 与多个监听者下的分发开销，以及一次订阅/退订的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+    private static final EventType EVENT_TYPE = EventType.of("Benchmark");
+
+    @Param({ "0", "1", "16" })
+    public int listeners;
+
+    private IEventBus eventBus;
+    private GameEvent event;
+    private IEventBus.IEventListener extraListener;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        eventBus = new EventBus();
+        for (int i = 0; i < listeners; i++) {
+            eventBus.subscribe(EVENT_TYPE, blackhole::consume);
+        }
+        event = new GameEvent(EVENT_TYPE, null, "基准测试事件");
+        extraListener = blackhole::consume;
+    }
+
+    @Benchmark
+    public void publish() {
+        eventBus.publish(event);
+    }
+
+    @Benchmark
+    public void publishFreshEvent() {
+        eventBus.publish(new GameEvent(EVENT_TYPE, null, "基准测试事件"));
+    }
+
+    @Benchmark
+    public void subscribeAndUnsubscribe() {
+        eventBus.subscribe(EVENT_TYPE, extraListener).unsubscribe();
+    }
+}
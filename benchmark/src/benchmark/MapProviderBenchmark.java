@@ -0,0 +1,109 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import plugin.api.IBlock;
+import plugin.api.IMapProvider;
+import plugin.api.Node;
+import plugin.map.MarathonMapProvider;
+import plugin.map.RandomMapProvider;
+import plugin.map.SShapeMapProvider;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地图生成（RandomMapProvider.getMap 与超长赛道的按块懒生成）
+ * 与坐标换算（positionToXY 与不分配对象的 positionToX/Y）的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapProviderBenchmark {
+
+    @Param({ "20", "52", "100" })
+    public int pathLength;
+
+    private IMapProvider randomMap;
+    private IMapProvider sShapeMap;
+    private IMapProvider marathonMap;
+    private PrintStream stdout;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        stdout = BenchmarkGame.silenceStdout();
+        randomMap = new RandomMapProvider(4, pathLength, BenchmarkGame.SEED);
+        sShapeMap = new SShapeMapProvider();
+        marathonMap = new MarathonMapProvider(4, MarathonMapProvider.MAX_PATH_LENGTH, BenchmarkGame.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * 构造新的提供者并生成完整地图（getMap 会缓存结果，因此每次都重新构造）
+     */
+    @Benchmark
+    public Node[][] randomGetMap() {
+        return new RandomMapProvider(4, pathLength, seed++).getMap();
+    }
+
+    /**
+     * 构造百万格以上的超长赛道并取起点附近的方块：只生成第一块，即首回合前的等待时间
+     */
+    @Benchmark
+    public IBlock marathonFirstBlock() {
+        return new MarathonMapProvider(4, MarathonMapProvider.MAX_PATH_LENGTH, seed++).getPathTable().getBlock(1);
+    }
+
+    /**
+     * 在已生成的超长赛道上逐格取方块
+     */
+    @Benchmark
+    public void marathonGetBlock(Blackhole blackhole) {
+        for (int position = 0; position < pathLength; position++) {
+            blackhole.consume(marathonMap.getPathTable().getBlock(position));
+        }
+    }
+
+    /**
+     * 换算整条路径上每个位置的坐标
+     */
+    @Benchmark
+    public void randomPositionToXY(Blackhole blackhole) {
+        for (int position = 0; position < pathLength; position++) {
+            blackhole.consume(randomMap.positionToXY(position));
+        }
+    }
+
+    @Benchmark
+    public void sShapePositionToXY(Blackhole blackhole) {
+        int mapSize = sShapeMap.getMapSize();
+        for (int position = 0; position < mapSize; position++) {
+            blackhole.consume(sShapeMap.positionToXY(position));
+        }
+    }
+
+    @Benchmark
+    public void randomPositionToXAndY(Blackhole blackhole) {
+        for (int position = 0; position < pathLength; position++) {
+            blackhole.consume(randomMap.positionToX(position));
+            blackhole.consume(randomMap.positionToY(position));
+        }
+    }
+
+    @Benchmark
+    public void sShapePositionToXAndY(Blackhole blackhole) {
+        int mapSize = sShapeMap.getMapSize();
+        for (int position = 0; position < mapSize; position++) {
+            blackhole.consume(sShapeMap.positionToX(position));
+            blackhole.consume(sShapeMap.positionToY(position));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+import game.api.IChessman;
+import game.api.IPlayer;
+import game.engine.RuleEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RuleEngine.analyzeActions：每次掷骰后列出可选操作的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleEngineBenchmark {
+
+    @Param({ "1", "6" })
+    public int diceValue;
+
+    private RuleEngine ruleEngine;
+    private IPlayer player;
+
+    @Setup
+    public void setup() {
+        PrintStream stdout = BenchmarkGame.silenceStdout();
+        try {
+            BenchmarkGame game = new BenchmarkGame(4, 4);
+            ruleEngine = game.engine.getRuleEngine();
+            player = game.players[0];
+            // 两枚棋子在场上，两枚在待起飞区
+            IChessman[] chessmen = player.getChessman();
+            chessmen[0].setPosition(3);
+            chessmen[1].setPosition(10);
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    @Benchmark
+    public RuleEngine.ActionOptions analyzeActions() {
+        return ruleEngine.analyzeActions(player, diceValue);
+    }
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import game.engine.GameSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameSnapshot 的保存、复制与恢复开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({ "2", "4" })
+    public int players;
+
+    private BenchmarkGame game;
+    private GameSnapshot snapshot;
+    private GameSnapshot scratch;
+
+    @Setup
+    public void setup() {
+        PrintStream stdout = BenchmarkGame.silenceStdout();
+        try {
+            game = new BenchmarkGame(players, 4);
+            for (int turn = 0; turn < 40 && !game.context.state.isGameOver(); turn++) {
+                game.engine.playTurn();
+            }
+            snapshot = game.engine.snapshot();
+            scratch = snapshot.copy();
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    @Benchmark
+    public GameSnapshot copyFrom() {
+        scratch.copyFrom(snapshot);
+        return scratch;
+    }
+
+    @Benchmark
+    public GameSnapshot capture() {
+        scratch.capture(game.context);
+        return scratch;
+    }
+
+    @Benchmark
+    public void restore() {
+        snapshot.restore(game.context);
+    }
+}
@@ -1,6 +1,7 @@
 package plugin.blocks;
 
 import plugin.api.IBlock;
+import plugin.api.LandingOutcomes;
 import ui.api.Colors;
 import game.api.*;
 
@@ -25,15 +26,20 @@ public class Destination implements IBlock {
         IPlayer player = chessman.getOwner();
         int endPosition = context.getMapProvider().getEndPosition(player.getPlayerId());
 
-        System.out.println("[Destination] 玩家 " + player.getName() + " 的棋子 " +
-                chessman.getChessmanId() + " 到达终点！当前位置=" + chessman.getPosition() +
-                ", 终点位置=" + endPosition);
+        boolean verbose = context.isVerbose();
+        if (verbose) {
+            System.out.println("[Destination] 玩家 " + player.getName() + " 的棋子 " +
+                    chessman.getChessmanId() + " 到达终点！当前位置=" + chessman.getPosition() +
+                    ", 终点位置=" + endPosition);
+        }
 
         boolean allChessmenFinished = true;
         int finishedCount = 0;
         for (IChessman c : player.getChessman()) {
-            System.out.println("  - 棋子 " + c.getChessmanId() + " 位置=" + c.getPosition() +
-                    " (终点=" + endPosition + ")");
+            if (verbose) {
+                System.out.println("  - 棋子 " + c.getChessmanId() + " 位置=" + c.getPosition() +
+                        " (终点=" + endPosition + ")");
+            }
             if (c.getPosition() >= endPosition) {
                 finishedCount++;
             } else {
@@ -41,26 +47,31 @@ public class Destination implements IBlock {
             }
         }
 
-        System.out.println("[Destination] 玩家 " + player.getName() + " 已有 " + finishedCount +
-                "/" + player.getChessman().length + " 个棋子到达终点");
+        if (verbose) {
+            System.out.println("[Destination] 玩家 " + player.getName() + " 已有 " + finishedCount +
+                    "/" + player.getChessman().length + " 个棋子到达终点");
+        }
 
         String message = "[Destination] 玩家 " + player.getName() + " 已有 " + finishedCount +
                 "/" + player.getChessman().length + " 个棋子到达终点";
-        java.util.Map<String, Object> effectData = new java.util.HashMap<>();
-        effectData.put("chessman", chessman);
-        effectData.put("message", message);
-
-        IGameEvent event = new BlockEvent("BlockEffect", effectData, "方块效果触发");
-        context.getEventBus().publish(event);
+        context.getEventBus().publish(new GameEvents.BlockEffect(chessman, message));
 
         if (allChessmenFinished) {
             player.setWinner();
             context.getState().setWinner(player);
             context.getState().setGameOver(true);
-            System.out.println("[Destination] 玩家 " + player.getName() + " 所有棋子都到达终点，获得胜利！");
+            if (verbose) {
+                System.out.println("[Destination] 玩家 " + player.getName() + " 所有棋子都到达终点，获得胜利！");
+            }
         }
     }
 
+    @Override
+    public boolean describeLanding(int position, int diceValue, int endPosition, LandingOutcomes outcomes) {
+        outcomes.add(1.0, position);
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return "终点方块";
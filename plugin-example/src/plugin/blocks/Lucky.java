@@ -1,11 +1,9 @@
 package plugin.blocks;
 
 import plugin.api.IBlock;
+import plugin.api.LandingOutcomes;
 import ui.api.Colors;
 
-import java.util.ArrayList;
-import java.util.Random;
-
 import game.api.*;
 
 public class Lucky implements IBlock {
@@ -14,8 +12,6 @@ public class Lucky implements IBlock {
         return Colors.ORANGE;
     }
 
-    private static final Random random = new Random();
-
     @Override
     public String getType() {
         return "幸运";
@@ -24,12 +20,10 @@ public class Lucky implements IBlock {
     @Override
     public void onLand(IChessman chessman, IGameContext context) {
         if (chessman != null && context != null) {
-            ArrayList<String> choices = new ArrayList<String>();
-            java.util.Map<String, Object> effectData = new java.util.HashMap<>();
-            choices.add("幸运1");
-            choices.add("幸运2");
-            choices.add("幸运3");
-            context.getUserInterface().getUserChoice("选择一个运气", choices);
+            IRandomSource random = context.getRandomSource().stream(getClass().getName());
+            context.getEventBus().publish(new GameEvents.BlockEffect(chessman,
+                    "[Lucky] 玩家 " + context.getCurrentPlayer().getName() + " 的棋子 " + chessman.getChessmanId()
+                            + " 踩到幸运方块，命运之轮开始转动……"));
             int randomAction = random.nextInt(4);
             switch (randomAction) {
                 case 0: // 前进
@@ -46,52 +40,40 @@ public class Lucky implements IBlock {
                             + chessman.getChessmanId()
                             + " 触发幸运，前进" + (newPos - currentPos) + "步！";
 
-                    effectData.put("chessman", chessman);
-                    effectData.put("message", message);
-                    context.getEventBus().publish(new BlockEvent("BlockEffect", effectData, "方块效果触发"));
+                    context.getEventBus().publish(new GameEvents.BlockEffect(chessman, message));
 
                     IBoard board = context.getBoard();
                     board.moveChessman(chessman, newPos - currentPos);
                     break;
                 case 1:
-                    effectData.put("chessman", chessman);
-                    effectData.put("message", "[Lucky] 玩家 " + context.getCurrentPlayer().getName() + " 的棋子 "
-                            + chessman.getChessmanId()
-                            + " 触发幸运，额外一轮送上！");
-                    context.getEventBus().publish(new BlockEvent("GrantNewTurn", effectData, "该玩家再来一轮"));
-                    context.getEventBus().publish(new BlockEvent("BlockEffect", effectData, "方块效果触发"));
+                    context.getEventBus().publish(new GameEvents.GrantNewTurn(chessman));
+                    context.getEventBus().publish(new GameEvents.BlockEffect(chessman,
+                            "[Lucky] 玩家 " + context.getCurrentPlayer().getName() + " 的棋子 "
+                                    + chessman.getChessmanId()
+                                    + " 触发幸运，额外一轮送上！"));
                     // 后退2步
                     break;
                 case 2:
                     // 保持不动
-                    choices.clear();
-                    choices.add("选我");
-                    choices.add("漩涡");
-                    choices.add("泫沃");
-                    context.getUserInterface().getUserChoice("你有可能直接把棋子传送到终点！请选择机会", choices);
+                    context.getEventBus().publish(new GameEvents.BlockEffect(chessman,
+                            "[Lucky] 你有可能直接把棋子传送到终点！抽奖中……"));
                     if (random.nextInt(3) == 0) {
                         // if (true) {
                         int endPos = context.getMapProvider().getEndPosition(chessman.getOwner().getPlayerId());
                         String msg = "[Lucky] 玩家 " + context.getCurrentPlayer().getName() + " 的棋子 "
                                 + chessman.getChessmanId()
                                 + " 触发幸运，直接传送到终点！";
-                        effectData.put("chessman", chessman);
-                        effectData.put("message", msg);
-                        context.getEventBus().publish(new BlockEvent("BlockEffect", effectData, "方块效果触发"));
+                        context.getEventBus().publish(new GameEvents.BlockEffect(chessman, msg));
                         chessman.setPosition(endPos);
                     } else {
 
                         String msg = "[Lucky] 很遗憾，您未中奖。";
-                        effectData.put("chessman", chessman);
-                        effectData.put("message", msg);
-                        context.getEventBus().publish(new BlockEvent("BlockEffect", effectData, "方块效果触发"));
+                        context.getEventBus().publish(new GameEvents.BlockEffect(chessman, msg));
                     }
                     break;
                 case 3: {
                     String msg = "[Lucky] 很遗憾，您未中奖。";
-                    effectData.put("chessman", chessman);
-                    effectData.put("message", msg);
-                    context.getEventBus().publish(new BlockEvent("BlockEffect", effectData, "方块效果触发"));
+                    context.getEventBus().publish(new GameEvents.BlockEffect(chessman, msg));
                     break;
                 }
             }
@@ -99,6 +81,23 @@ public class Lucky implements IBlock {
         }
     }
 
+    @Override
+    public boolean describeLanding(int position, int diceValue, int endPosition, LandingOutcomes outcomes) {
+        if (position >= endPosition) {
+            outcomes.add(1.0, position);
+            return true;
+        }
+        // 四种情况各占 1/4：前进到 (position, endPosition] 中的任意一格、额外回合、1/3 概率直达终点、不动
+        int span = endPosition - position;
+        for (int target = position + 1; target <= endPosition; target++) {
+            outcomes.add(0.25 / span, target);
+        }
+        outcomes.add(0.25, position, true);
+        outcomes.add(0.25 / 3, endPosition);
+        outcomes.add(0.25 * 2 / 3 + 0.25, position);
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return "幸运方块";
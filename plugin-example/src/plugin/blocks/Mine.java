@@ -1,10 +1,9 @@
 package plugin.blocks;
 
 import plugin.api.IBlock;
+import plugin.api.LandingOutcomes;
 import ui.api.Colors;
 
-import java.util.ArrayList;
-
 import game.api.*;
 
 public class Mine implements IBlock {
@@ -21,23 +20,19 @@ public class Mine implements IBlock {
     @Override
     public void onLand(IChessman chessman, IGameContext context) {
         if (chessman != null && context != null) {
-            ArrayList<String> choices = new ArrayList<String>();
-            choices.add("被炸死");
-            choices.add("被扎死");
-            choices.add("被渣丝");
-            context.getUserInterface().getUserChoice("选择你的死法", choices);
             String message = "[Mine] 玩家 " + context.getCurrentPlayer().getName() + " 的棋子 " + chessman.getChessmanId()
-                    + " 踩到地雷，返回待起飞区！";
-            java.util.Map<String, Object> effectData = new java.util.HashMap<>();
-            effectData.put("chessman", chessman);
-            effectData.put("message", message);
-
-            IGameEvent event = new BlockEvent("BlockEffect", effectData, "方块效果触发");
-            context.getEventBus().publish(event);
+                    + " 踩到地雷，轰！返回待起飞区！";
+            context.getEventBus().publish(new GameEvents.BlockEffect(chessman, message));
             chessman.setPosition(-1);
         }
     }
 
+    @Override
+    public boolean describeLanding(int position, int diceValue, int endPosition, LandingOutcomes outcomes) {
+        outcomes.add(1.0, -1);
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return "地雷方块，触发爆炸效果。";
@@ -20,6 +20,11 @@ public class Normal implements IBlock {
 
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return "普通方块，无特殊效果。";
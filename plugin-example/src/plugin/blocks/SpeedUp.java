@@ -20,16 +20,22 @@ public class SpeedUp implements IBlock {
         if (chessman != null && context != null) {
             String message = "[SpeedUp] 玩家 " + context.getCurrentPlayer().getName() + " 的棋子 " + chessman.getChessmanId()
                     + " 触发加速，2倍速前进！";
-            java.util.Map<String, Object> effectData = new java.util.HashMap<>();
-            effectData.put("chessman", chessman);
-            effectData.put("message", message);
-            IGameEvent event = new BlockEvent("BlockEffect", effectData, "方块效果触发");
-            context.getEventBus().publish(event);
+            context.getEventBus().publish(new GameEvents.BlockEffect(chessman, message));
             IBoard board = context.getBoard();
-            board.moveChessman(chessman, context.getCurrentDiceValue() * 2);
+            board.moveChessman(chessman, getLandingSteps(context.getCurrentDiceValue()));
         }
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public int getLandingSteps(int diceValue) {
+        return diceValue * 2;
+    }
+
     @Override
     public String getDescription() {
         return "加速方块，让棋子额外前进。";
@@ -20,6 +20,11 @@ public class Start implements IBlock {
 
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return "起点方块，游戏开始的位置。";
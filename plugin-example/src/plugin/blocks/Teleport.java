@@ -1,11 +1,10 @@
 package plugin.blocks;
 
 import plugin.api.IBlock;
+import plugin.api.LandingOutcomes;
 import ui.api.Colors;
 import game.api.*;
 
-import java.util.ArrayList;
-import java.util.Random;
 
 public class Teleport implements IBlock {
     @Override
@@ -13,8 +12,6 @@ public class Teleport implements IBlock {
         return Colors.CYAN;
     }
 
-    private static final Random random = new Random();
-
     @Override
     public String getType() {
         return "传送";
@@ -23,11 +20,9 @@ public class Teleport implements IBlock {
     @Override
     public void onLand(IChessman chessman, IGameContext context) {
         if (chessman != null && context != null) {
-            ArrayList<String> choices = new ArrayList<String>();
-            choices.add("传送到申必位置1");
-            choices.add("传送到申必位置2");
-            choices.add("传送到申必位置3");
-            context.getUserInterface().getUserChoice("选择一个位置进行传送", choices);
+            IRandomSource random = context.getRandomSource().stream(getClass().getName());
+            context.getEventBus().publish(new GameEvents.BlockEffect(chessman,
+                    "[Teleport] 棋子 " + chessman.getChessmanId() + " 踏入传送门，正在前往申必位置……"));
             int endPosition = context.getMapProvider().getEndPosition(chessman.getOwner().getPlayerId());
             int currentPos = chessman.getPosition();
             int newPos = random.nextInt(endPosition);
@@ -37,16 +32,28 @@ public class Teleport implements IBlock {
                 attempts++;
             }
             String message = "[Teleport] 棋子 " + chessman.getChessmanId() + " 触发传送，传送到位置 " + newPos + "！";
-            java.util.Map<String, Object> effectData = new java.util.HashMap<>();
-            effectData.put("chessman", chessman);
-            effectData.put("message", message);
-            IGameEvent event = new BlockEvent("BlockEffect", effectData, "方块效果触发");
-            context.getEventBus().publish(event);
+            context.getEventBus().publish(new GameEvents.BlockEffect(chessman, message));
 
             chessman.setPosition(newPos);
         }
     }
 
+    @Override
+    public boolean describeLanding(int position, int diceValue, int endPosition, LandingOutcomes outcomes) {
+        // 在 [1, endPosition) 中均匀选取当前位置以外的格子（重试 50 次仍失败的概率可以忽略）
+        int targets = endPosition - 1 - (position >= 1 && position < endPosition ? 1 : 0);
+        if (targets <= 0) {
+            outcomes.add(1.0, position);
+            return true;
+        }
+        for (int target = 1; target < endPosition; target++) {
+            if (target != position) {
+                outcomes.add(1.0 / targets, target);
+            }
+        }
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return "传送方块，随机传送到地图上的其他位置。";
@@ -0,0 +1,221 @@
+package plugin.map;
+
+import plugin.api.ChunkedPathTable;
+import plugin.api.IBlock;
+import plugin.api.IMapProvider;
+import plugin.api.Node;
+import plugin.api.PathTable;
+import plugin.blocks.*;
+import ui.api.Colors;
+
+import java.util.SplittableRandom;
+
+/**
+ * 超长赛道地图（十万格起）
+ * 路径按蛇形排列，方块按块从种子懒生成（见 ChunkedPathTable），只存路径上的格子、每格一个字节，
+ * 首回合只生成起点所在的一块，内存随已访问的路径长度增长。
+ * 每块的随机序列只由种子与块编号决定，与访问顺序无关，同一种子总能得到同一张地图。
+ * 赛道上只放确定性方块（加速、减速），随机方块的效果按全图比例设计（如地雷回到待起飞区、
+ * 幸运与传送跳到全图任意位置），放在超长赛道上会让对局无法正常结束。
+ */
+public class MarathonMapProvider implements IMapProvider {
+    public static final int DEFAULT_PATH_LENGTH = 100_000;
+    public static final int MAX_PATH_LENGTH = 10_000_000;
+
+    private static final int WIDTH = 13;
+    private static final int CHUNK_BITS = 12; // 每块 4096 格
+
+    // 方块编号，对应 PALETTE 的下标
+    private static final byte NORMAL = 0;
+    private static final byte START = 1;
+    private static final byte DESTINATION = 2;
+    private static final byte SPEEDUP = 3;
+    private static final byte SLOWDOWN = 4;
+    private static final IBlock[] PALETTE = { new Normal(), new Start(), new Destination(), new SpeedUp(),
+            new SlowDown() };
+
+    private static final double SPEEDUP_RATIO = 0.08; // 加速格 8%
+    private static final double SLOWDOWN_RATIO = 0.06; // 减速格 6%
+    private static final Colors[] COLORS = { new Colors(255, 0, 0), new Colors(0, 0, 255), new Colors(128, 0, 128),
+            new Colors(0, 255, 0) };
+    private static final String[] COLORS_NAME = { new String("红色"), new String("蓝色"), new String("紫色"),
+            new String("绿色") };
+
+    private final int playerCount;
+    private final int pathLength;
+    private long seed;
+    private volatile ChunkedPathTable pathTable;
+
+    public MarathonMapProvider() {
+        this(4, DEFAULT_PATH_LENGTH, System.currentTimeMillis());
+    }
+
+    public MarathonMapProvider(int playerCount, int pathLength, long seed) {
+        if (playerCount < 2 || playerCount > 4) {
+            throw new IllegalArgumentException("玩家数量必须在2-4之间");
+        }
+        if (pathLength < 20 || pathLength > MAX_PATH_LENGTH) {
+            throw new IllegalArgumentException("路径长度必须在20-" + MAX_PATH_LENGTH + "之间");
+        }
+        this.playerCount = playerCount;
+        this.pathLength = pathLength;
+        this.seed = seed;
+        this.pathTable = createPathTable(seed);
+    }
+
+    private ChunkedPathTable createPathTable(long seed) {
+        return new ChunkedPathTable(pathLength, WIDTH, CHUNK_BITS, PALETTE,
+                (chunk, from, codes) -> generateChunk(seed, chunk, from, codes));
+    }
+
+    /**
+     * 生成一块路径：起点后 2 格、终点前 2 格为安全区，其余格子按比例随机放置加速与减速
+     */
+    private void generateChunk(long seed, int chunk, int from, byte[] codes) {
+        SplittableRandom random = new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < codes.length; i++) {
+            int position = from + i;
+            double roll = random.nextDouble();
+            if (position == 0) {
+                codes[i] = START;
+            } else if (position == pathLength - 1) {
+                codes[i] = DESTINATION;
+            } else if (position < 2 || position >= pathLength - 3) {
+                codes[i] = NORMAL;
+            } else if (roll < SPEEDUP_RATIO) {
+                codes[i] = SPEEDUP;
+            } else if (roll < SPEEDUP_RATIO + SLOWDOWN_RATIO) {
+                codes[i] = SLOWDOWN;
+            } else {
+                codes[i] = NORMAL;
+            }
+        }
+    }
+
+    @Override
+    public PathTable getPathTable() {
+        return pathTable;
+    }
+
+    /**
+     * 兼容旧接口的完整网格
+     * 每次调用都会生成全部方块并创建 宽 × 高 个节点，超长赛道上代价很高，
+     * 引擎与界面都应改用 getPathTable()。
+     */
+    @Override
+    public Node[][] getMap() {
+        ChunkedPathTable table = pathTable;
+        Node[][] nodes = new Node[table.getHeight()][WIDTH];
+        for (int y = 0; y < nodes.length; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int position = table.positionAt(x, y);
+                nodes[y][x] = position >= 0 ? new Node(position, table.getBlock(position)) : new Node(-1, new Empty());
+            }
+        }
+        return nodes;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        if (this.seed == seed) {
+            return;
+        }
+        this.seed = seed;
+        this.pathTable = createPathTable(seed); // 旧种子生成的块随旧表一起丢弃
+    }
+
+    @Override
+    public int[] positionToXY(int position) {
+        return new int[] { positionToX(position), positionToY(position) };
+    }
+
+    @Override
+    public int positionToX(int position) {
+        return pathTable.getX(position);
+    }
+
+    @Override
+    public int positionToY(int position) {
+        return pathTable.getY(position);
+    }
+
+    @Override
+    public String getName() {
+        return "Marathon Map Generator";
+    }
+
+    @Override
+    public String getVersion() {
+        return "1.0.0";
+    }
+
+    @Override
+    public String getDescription() {
+        return "超长赛道地图";
+    }
+
+    @Override
+    public String getAuthor() {
+        return "System";
+    }
+
+    @Override
+    public String getMapName() {
+        return "marathon"; // SPI识别名称
+    }
+
+    @Override
+    public int getMapSize() {
+        return pathLength;
+    }
+
+    @Override
+    public int getDifficulty() {
+        return 1;
+    }
+
+    @Override
+    public int getRecommendedPlayers() {
+        return playerCount;
+    }
+
+    @Override
+    public int getStartPosition(int playerIndex) {
+        return 0;
+    }
+
+    @Override
+    public int getEndPosition(int playerIndex) {
+        return pathLength - 1;
+    }
+
+    @Override
+    public int getMaxChessmanPerPlayer() {
+        return 4;
+    }
+
+    @Override
+    public int getMaxPlayers() {
+        return 4;
+    }
+
+    @Override
+    public int getMinPlayers() {
+        return 2;
+    }
+
+    @Override
+    public Colors[] getPlayerColors() {
+        return COLORS;
+    }
+
+    @Override
+    public String[] getPlayerColorsName() {
+        return COLORS_NAME;
+    }
+}
@@ -2,15 +2,19 @@ package plugin.map;
 
 import plugin.api.IMapProvider;
 import plugin.blocks.*;
+import plugin.api.MapCache;
 import plugin.api.Node;
+import plugin.api.PathTable;
 import ui.api.Colors;
 
+import java.nio.ByteBuffer;
 import java.util.Random;
 import java.util.ArrayList;
 import java.util.List;
 
 public class RandomMapProvider implements IMapProvider {
     private Node[][] nodes = null;
+    private PathTable pathTable = null;
     private int pathLength; // 每个玩家的路径长度
     private int playerCount; // 玩家数量
     private int gridWidth; // 网格宽度
@@ -71,9 +75,6 @@ public class RandomMapProvider implements IMapProvider {
     private void calculateGridSize() {
         this.gridWidth = 13;
         this.gridHeight = (int) Math.ceil((double) pathLength / gridWidth);
-
-        System.out.println("[RandomMapProvider] 地图大小: " + gridWidth + "x" + gridHeight +
-                ", 路径长度: " + pathLength + ", 玩家数: " + playerCount);
     }
 
     @Override
@@ -103,14 +104,20 @@ public class RandomMapProvider implements IMapProvider {
 
     @Override
     public int[] positionToXY(int position) {
+        return new int[] { positionToX(position), positionToY(position) };
+    }
+
+    @Override
+    public int positionToX(int position) {
         int row = position / gridWidth;
         int col = position % gridWidth;
+        // 蛇形排列：偶数行从左到右，奇数行从右到左
+        return row % 2 == 0 ? col : gridWidth - 1 - col;
+    }
 
-        if (row % 2 == 0) {
-            return new int[] { col, row };
-        } else {
-            return new int[] { gridWidth - 1 - col, row };
-        }
+    @Override
+    public int positionToY(int position) {
+        return position / gridWidth;
     }
 
     @Override
@@ -118,6 +125,32 @@ public class RandomMapProvider implements IMapProvider {
         return 4;
     }
 
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        if (this.seed == seed && nodes != null) {
+            return;
+        }
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.nodes = null; // 下次 getMap() 时按新种子重新生成
+        this.pathTable = null;
+    }
+
+    @Override
+    public PathTable getPathTable() {
+        PathTable table = pathTable;
+        if (table == null) {
+            table = PathTable.compile(getMap());
+            pathTable = table;
+        }
+        return table;
+    }
+
     @Override
     public Node[][] getMap() {
         if (nodes != null) {
@@ -129,30 +162,67 @@ public class RandomMapProvider implements IMapProvider {
                 nodes[i][j] = new Node(-1, new Empty());
             }
         }
-        List<BlockType> blockPattern = generateBlockPattern();
+        ByteBuffer layout = blockLayout();
         for (int pos = 0; pos < pathLength; pos++) {
-            int[] xy = positionToXY(pos);
-            int x = xy[0];
-            int y = xy[1];
+            int x = positionToX(pos);
+            int y = positionToY(pos);
+            nodes[y][x] = new Node(pos, createBlockFromType(BLOCK_TYPES[layout.get(pos)]));
+        }
+        return nodes;
+    }
 
-            plugin.api.IBlock block;
+    /**
+     * 方块布局：每个位置一个字节，取值为 BlockType 的序号
+     * 启用了地图缓存时优先读取缓存文件，未命中才生成并写回；生成时的日志只在真正生成时输出。
+     */
+    private ByteBuffer blockLayout() {
+        MapCache cache = MapCache.getDefault();
+        MapCache.Key key = null;
+        if (cache != null) {
+            key = new MapCache.Key(getMapName(), getVersion(), seed, pathLength, playerCount);
+            ByteBuffer cached = cache.load(key);
+            if (cached != null && isValidLayout(cached)) {
+                return cached;
+            }
+        }
 
+        System.out.println("[RandomMapProvider] 地图大小: " + gridWidth + "x" + gridHeight +
+                ", 路径长度: " + pathLength + ", 玩家数: " + playerCount);
+        List<BlockType> blockPattern = generateBlockPattern();
+        byte[] codes = new byte[pathLength];
+        for (int pos = 0; pos < pathLength; pos++) {
+            BlockType type;
             if (pos == 0) {
                 // 起点
-                block = new Start();
+                type = BlockType.START;
             } else if (pos == pathLength - 1) {
                 // 终点
-                block = new Destination();
+                type = BlockType.DESTINATION;
             } else {
                 // 根据模板分配特殊方块
-                block = createBlockFromType(blockPattern.get(pos));
+                type = blockPattern.get(pos);
             }
+            codes[pos] = (byte) type.ordinal();
+        }
+        System.out.println("[RandomMapProvider] 地图生成完成，种子: " + seed);
 
-            nodes[y][x] = new Node(pos, block);
+        if (cache != null) {
+            cache.store(key, codes);
         }
+        return ByteBuffer.wrap(codes);
+    }
 
-        System.out.println("[RandomMapProvider] 地图生成完成，种子: " + seed);
-        return nodes;
+    private boolean isValidLayout(ByteBuffer layout) {
+        if (layout.remaining() != pathLength) {
+            return false;
+        }
+        for (int pos = 0; pos < pathLength; pos++) {
+            int code = layout.get(pos);
+            if (code < 0 || code >= BLOCK_TYPES.length) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private List<BlockType> generateBlockPattern() {
@@ -296,6 +366,7 @@ public class RandomMapProvider implements IMapProvider {
         return 0;
     }
 
+    // 序号写入地图缓存，调整顺序或增删取值时需要提升 getVersion()
     private enum BlockType {
         START,
         DESTINATION,
@@ -306,4 +377,6 @@ public class RandomMapProvider implements IMapProvider {
         MINE,
         TELEPORT
     }
+
+    private static final BlockType[] BLOCK_TYPES = BlockType.values();
 }
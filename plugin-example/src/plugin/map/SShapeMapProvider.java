@@ -2,14 +2,19 @@ package plugin.map;
 
 import plugin.api.IMapProvider;
 import plugin.api.Node;
+import plugin.api.PathTable;
 import ui.api.Colors;
 import plugin.blocks.*;
 
 public class SShapeMapProvider implements IMapProvider {
     private Node[][] map;
+    private PathTable pathTable;
     private int mapSize;
     private static final int WIDTH = 13;
     private static final int HEIGHT = 7;
+    // 各位置的坐标，由 layout 预先算出，换算时不再分配数组
+    private static final int[] XS = new int[50];
+    private static final int[] YS = new int[50];
     private static final Colors[] COLORS = { new Colors(255, 0, 0), new Colors(0, 0, 255), new Colors(128, 0, 128),
             new Colors(0, 255, 0) };
     private static final String[] COLORS_NAME = { new String("红色"), new String("蓝色"), new String("紫色"),
@@ -25,6 +30,14 @@ public class SShapeMapProvider implements IMapProvider {
         return COLORS_NAME;
     }
 
+    static {
+        for (int pos = 0; pos < XS.length; pos++) {
+            int[] xy = layout(pos);
+            XS[pos] = xy[0];
+            YS[pos] = xy[1];
+        }
+    }
+
     public SShapeMapProvider() {
         initMap();
     }
@@ -40,13 +53,12 @@ public class SShapeMapProvider implements IMapProvider {
         }
 
         for (int pos = 0; pos <= 24; pos++) {
-            int[] xy = positionToXY(pos);
-            if (xy[0] < 0 || xy[1] < 0 || xy[0] >= WIDTH || xy[1] >= HEIGHT) {
-                System.err.println("[ERROR] 位置 " + pos + " 映射到无效坐标: [" + xy[0] + ", " + xy[1] + "]");
+            int x = positionToX(pos);
+            int y = positionToY(pos);
+            if (x < 0 || y < 0 || x >= WIDTH || y >= HEIGHT) {
+                System.err.println("[ERROR] 位置 " + pos + " 映射到无效坐标: [" + x + ", " + y + "]");
                 continue;
             }
-            int x = xy[0];
-            int y = xy[1];
 
             plugin.api.IBlock block;
             if (pos == 0) {
@@ -68,13 +80,12 @@ public class SShapeMapProvider implements IMapProvider {
 
         // 玩家2路线 (25-49): 25个位置
         for (int pos = 25; pos <= 49; pos++) {
-            int[] xy = positionToXY(pos);
-            if (xy[0] < 0 || xy[1] < 0 || xy[0] >= WIDTH || xy[1] >= HEIGHT) {
-                System.err.println("[ERROR] 位置 " + pos + " 映射到无效坐标: [" + xy[0] + ", " + xy[1] + "]");
+            int x = positionToX(pos);
+            int y = positionToY(pos);
+            if (x < 0 || y < 0 || x >= WIDTH || y >= HEIGHT) {
+                System.err.println("[ERROR] 位置 " + pos + " 映射到无效坐标: [" + x + ", " + y + "]");
                 continue;
             }
-            int x = xy[0];
-            int y = xy[1];
 
             plugin.api.IBlock block;
             if (pos == 25) {
@@ -95,6 +106,7 @@ public class SShapeMapProvider implements IMapProvider {
         }
 
         mapSize = 50;
+        pathTable = PathTable.compile(map);
     }
 
     @Override
@@ -117,6 +129,11 @@ public class SShapeMapProvider implements IMapProvider {
         return map;
     }
 
+    @Override
+    public PathTable getPathTable() {
+        return pathTable;
+    }
+
     @Override
     public int getMapSize() {
         return mapSize;
@@ -139,6 +156,20 @@ public class SShapeMapProvider implements IMapProvider {
 
     @Override
     public int[] positionToXY(int position) {
+        return new int[] { positionToX(position), positionToY(position) };
+    }
+
+    @Override
+    public int positionToX(int position) {
+        return position >= 0 && position < XS.length ? XS[position] : -1;
+    }
+
+    @Override
+    public int positionToY(int position) {
+        return position >= 0 && position < YS.length ? YS[position] : -1;
+    }
+
+    private static int[] layout(int position) {
         if (position >= 0 && position <= 24) {
             if (position <= 10) {
                 return new int[] { position, 0 };
@@ -26,32 +26,7 @@ public class DefaultRuleSetProvider implements IRuleSetProvider {
             public int handleOverEnd(IChessman chessman, int deltaSteps, IGameContext context) {
                 String message = "[Rule] 棋子 " + chessman.getChessmanId() + " 超过终点，回退 "
                         + (deltaSteps) + " 步！";
-                java.util.Map<String, Object> effectData = new java.util.HashMap<>();
-                effectData.put("chessman", chessman);
-                effectData.put("message", message);
-                IGameEvent event = new IGameEvent() {
-                    @Override
-                    public String getType() {
-                        return "BlockEffect";
-                    }
-
-                    @Override
-                    @SuppressWarnings("unchecked")
-                    public <T> T getData() {
-                        return (T) effectData;
-                    }
-
-                    @Override
-                    public String getDescription() {
-                        return "方块效果触发";
-                    }
-
-                    @Override
-                    public long getTimestamp() {
-                        return System.currentTimeMillis();
-                    }
-                };
-                context.getEventBus().publish(event);
+                context.getEventBus().publish(new GameEvents.BlockEffect(chessman, message));
                 return -deltaSteps;
             }
         };
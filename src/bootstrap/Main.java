@@ -1,13 +1,25 @@
 package bootstrap;
 
 import game.api.IGameEngine;
+import game.api.IGameContext;
 import game.api.IPlayer;
-import game.engine.EventBus;
 import game.engine.GameContext;
+import game.engine.GameJournal;
+import game.engine.SnapshotView;
+import game.engine.MarkovEvaluator;
+import game.engine.SaveFile;
+import game.engine.MctsDecisionProvider;
 import plugin.api.IRuleSetProvider;
 import plugin.api.IMapProvider;
+import plugin.api.MapCache;
 import ui.api.IUserInterface;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
     private static final String VERSION = "1.0.0.re";
@@ -19,10 +31,21 @@ public class Main {
 
         try {
             GameConfig config = parseArgs(args);
+            if (config.getMapCacheDir() != null) {
+                MapCache.setDefault(new MapCache(java.nio.file.Paths.get(config.getMapCacheDir())));
+            }
             System.out.println("正在加载插件...\n");
             bootstrap.spi.PluginLoader.getInstance().loadPluginsFromJars(config.getPluginJars());
             System.out.println();
-            start(config);
+            if (config.getReplayFile() != null) {
+                Replayer.replay(config.getReplayFile());
+            } else if (config.isAnalyze()) {
+                analyze(config);
+            } else if (config.getSimulateGames() > 0) {
+                simulate(config);
+            } else {
+                start(config);
+            }
 
         } catch (Exception e) {
             System.err.println("[ERROR] Error: " + e.getMessage());
@@ -31,32 +54,40 @@ public class Main {
         }
     }
 
-    private static void runGameLoop(IGameEngine engine, IUserInterface ui) {
+    private static void runGameLoop(IGameEngine engine, IUserInterface ui, GameContext context, SaveFile saveFile) {
         engine.start();
-        game.engine.GameContext context = game.engine.GameContext.getInstance();
         ui.setContext(context);
         ui.displayMessage("游戏开始！\n");
 
-        // 主循环：持续执行回合直到游戏结束
-        while (context.state.isRunning() && !context.state.isGameOver()) {
-            engine.playTurn();
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.out.println("[INFO] 游戏循环被中断，准备重启...");
-                break;
-            }
+        // 主循环：回合在单独的回合线程上推进。等待玩家选择时回合挂起，回合线程不被占用，
+        // 选择完成后回合的剩余部分回到回合线程上继续；回合之间的停顿也不占用线程
+        ExecutorService turnExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "GameTurnThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        TurnLoop loop = new TurnLoop(engine, context, ui, saveFile, turnExecutor);
+        try {
+            turnExecutor.execute(loop);
+            loop.finished.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("[INFO] 游戏循环被中断，准备重启...");
+        } catch (java.util.concurrent.ExecutionException e) {
+            ui.displayError("回合执行失败: " + e.getCause());
+        } finally {
+            turnExecutor.shutdownNow();
         }
 
-        if (context.state.isRunning()) {
+        if (context.getState().isRunning()) {
             engine.stop();
         }
 
+        context.getEventBus().awaitIdle();
         ui.update();
 
-        if (context.state.isGameOver()) {
-            game.api.IPlayer winner = context.state.getWinner();
+        if (context.getState().isGameOver()) {
+            game.api.IPlayer winner = context.getState().getWinner();
             if (winner != null) {
                 String victoryMessage = "\n游戏结束！\n\n" +
                         "恭喜 " + winner.getName() + " ("
@@ -71,6 +102,64 @@ public class Main {
         }
     }
 
+    /**
+     * 回合循环：每回合用 playTurnAsync 推进，结束后自动存档，停顿片刻再在回合线程上开始下一回合
+     * 不在回合之间串起 future 链，长对局也不会积累依赖。
+     */
+    private static final class TurnLoop implements Runnable {
+        private static final long TURN_INTERVAL_MILLIS = 500;
+
+        final CompletableFuture<Void> finished = new CompletableFuture<>();
+        private final IGameEngine engine;
+        private final GameContext context;
+        private final IUserInterface ui;
+        private final Executor executor;
+        private final Executor paced;
+        private SaveFile saveFile;
+
+        TurnLoop(IGameEngine engine, GameContext context, IUserInterface ui, SaveFile saveFile, Executor executor) {
+            this.engine = engine;
+            this.context = context;
+            this.ui = ui;
+            this.saveFile = saveFile;
+            this.executor = executor;
+            this.paced = CompletableFuture.delayedExecutor(TURN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS, executor);
+        }
+
+        @Override
+        public void run() {
+            if (!context.getState().isRunning() || context.getState().isGameOver()) {
+                finished.complete(null);
+                return;
+            }
+            engine.playTurnAsync(executor).whenComplete((result, error) -> {
+                if (error != null) {
+                    finished.completeExceptionally(error);
+                    return;
+                }
+                autoSave();
+                try {
+                    paced.execute(this);
+                } catch (RejectedExecutionException e) {
+                    finished.complete(null); // 回合线程已关闭
+                }
+            });
+        }
+
+        private void autoSave() {
+            if (saveFile == null) {
+                return;
+            }
+            // 每回合结束后自动存档，进程重启后可以从这里继续
+            try {
+                saveFile.save(context);
+            } catch (java.io.IOException e) {
+                ui.displayError("自动存档失败，本局不再存档: " + e.getMessage());
+                saveFile = null;
+            }
+        }
+    }
+
     private static void start(GameConfig config) {
         System.out.println("以进入游戏");
         IUserInterface ui = ServiceLoader.loadUI(config.getUiType());
@@ -88,51 +177,154 @@ public class Main {
         runGameLogic(ui, config);
     }
 
-    private static void runGameLogic(IUserInterface ui, GameConfig config) {
+    /**
+     * 按配置固定地图种子，需要在第一次读取地图或路径表之前调用
+     */
+    private static void applyMapSeed(IMapProvider mapProvider, GameConfig config) {
+        Long mapSeed = config.getMapSeed();
+        if (mapSeed != null) {
+            mapProvider.setSeed(mapSeed);
+        }
+    }
 
-        System.out.println("正在加载规则和地图...\n");
+    private static void simulate(GameConfig config) {
+        IRuleSetProvider ruleSet = ServiceLoader.loadRuleSet(config.getRuleSetName());
+        IMapProvider mapProvider = ServiceLoader.loadMapProvider(config.getMapName());
+        applyMapSeed(mapProvider, config);
+        Simulator simulator = new Simulator(ruleSet, mapProvider, config.getPlayerCount(),
+                config.getChessmanCount(), config.getSeed());
+        if (config.getBotCount() > 0) {
+            // 对局已经分摊到各模拟线程上，电脑玩家在各自的线程内单线程搜索
+            simulator.setBots(config.getBotCount(), new MctsDecisionProvider(config.getThinkMillis(), 1));
+        }
+        simulator.run(config.getSimulateGames(), config.getWorkers(), config.isScaling());
+    }
+
+    /**
+     * 用马尔可夫链直接计算期望对局长度与胜率，不进行模拟
+     */
+    private static void analyze(GameConfig config) {
         IRuleSetProvider ruleSet = ServiceLoader.loadRuleSet(config.getRuleSetName());
         IMapProvider mapProvider = ServiceLoader.loadMapProvider(config.getMapName());
+        applyMapSeed(mapProvider, config);
+        int playerCount = config.getPlayerCount() > 0 ? config.getPlayerCount()
+                : Math.max(mapProvider.getMinPlayers(),
+                        Math.min(mapProvider.getRecommendedPlayers(), mapProvider.getMaxPlayers()));
+        int chessmanCount = config.getChessmanCount() > 0 ? config.getChessmanCount()
+                : mapProvider.getMaxChessmanPerPlayer();
+        System.out.println("[ANALYZE] 规则集: " + ruleSet.getRuleSetName() + ", 地图: " + mapProvider.getMapName()
+                + ", 玩家数: " + playerCount + ", 每人棋子数: " + chessmanCount);
+
+        long startTime = System.nanoTime();
+        MarkovEvaluator.Result result = new MarkovEvaluator(mapProvider, ruleSet, playerCount, chessmanCount)
+                .solve();
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.println("\n========================================");
+        System.out.println("            [ANALYZE] 解析结果");
+        System.out.println("========================================");
+        System.out.printf("状态数: %d, 转移数: %d, 用时 %.3f 秒%n", result.getStateCount(),
+                result.getTransitionCount(), seconds);
+        System.out.printf("期望对局长度(回合): %.2f%n", result.getExpectedLength());
+        StringBuilder line = new StringBuilder("胜率:");
+        for (int i = 0; i < playerCount; i++) {
+            line.append(String.format(" P%d %.1f%%", i + 1, 100 * result.getWinProbability(i)));
+        }
+        System.out.println(line);
+        if (result.getUnresolvedProbability() > 1e-9) {
+            System.out.printf("[WARNING] %.4f%% 的对局在迭代上限内无法结束%n", 100 * result.getUnresolvedProbability());
+        }
+        int[] unmodelled = result.getUnmodelledPositions();
+        if (unmodelled.length > 0) {
+            System.out.println("[WARNING] 以下位置的方块没有概率模型，按无效果计算: "
+                    + java.util.Arrays.toString(unmodelled));
+        }
+    }
+
+    private static void runGameLogic(IUserInterface ui, GameConfig config) {
+
+        System.out.println("正在加载规则和地图...\n");
+        SaveFile.SavedGame saved = loadSave(config);
+        IRuleSetProvider ruleSet = ServiceLoader.loadRuleSet(
+                saved != null ? saved.getRuleSetName() : config.getRuleSetName());
+        IMapProvider mapProvider = ServiceLoader.loadMapProvider(
+                saved != null ? saved.getMapName() : config.getMapName());
+        if (saved != null) {
+            checkPluginVersion("地图", mapProvider.getMapName(), saved.getMapVersion(), mapProvider.getVersion());
+            checkPluginVersion("规则集", ruleSet.getRuleSetName(), saved.getRuleSetVersion(), ruleSet.getVersion());
+            mapProvider.setSeed(saved.getMapSeed());
+        } else {
+            applyMapSeed(mapProvider, config);
+        }
         System.out.println("[OK] 已加载规则集: " + ruleSet.getRuleSetName());
         System.out.println("[OK] 已加载地图: " + mapProvider.getMapName() + "\n");
-        IGameEngine engine = ServiceLoader.loadGameEngine();
-        ui.initialize(game.engine.GameContext.getInstance());
+        GameContext context = new GameContext();
+        IGameEngine engine = ServiceLoader.loadGameEngine(context);
+        ui.initialize(context);
         System.out.println("[DEBUG] UI初始化完成");
         ui.show();
         System.out.println("[DEBUG] 窗口已显示");
         ui.displayMessage("正在加载规则和地图...\n");
         ui.displayMessage("[OK] 已加载规则集: " + ruleSet.getRuleSetName());
         ui.displayMessage("[OK] 已加载地图: " + mapProvider.getMapName() + "\n");
-        game.api.IPlayer[] playerArray = ServiceLoader.createPlayers(ui, ruleSet, mapProvider);
+        boolean savedBots = false;
+        for (int i = 0; saved != null && i < saved.getPlayerCount(); i++) {
+            savedBots |= saved.isBot(i);
+        }
+        MctsDecisionProvider bot = config.getBotCount() > 0 || savedBots
+                ? new MctsDecisionProvider(config.getThinkMillis(), config.getBotThreads())
+                : null;
+        game.api.IPlayer[] playerArray = saved != null
+                ? saved.createPlayers(bot)
+                : ServiceLoader.createPlayers(ui, ruleSet, mapProvider, config.getBotCount(), bot);
         List<IPlayer> players = java.util.Arrays.asList(playerArray);
         game.engine.GameEngine gameEngine = (game.engine.GameEngine) engine;
-        GameContext.getInstance().setUserInterface(ui);
+        context.setUserInterface(ui);
         gameEngine.setRuleSetProvider(ruleSet);
         gameEngine.setUserInterface(ui);
-        GameContext.getInstance().setMapProvider(mapProvider);
-        GameContext.getInstance().setPlayers(playerArray);
-        GameContext.getInstance().setRuleSetProvider(ruleSet);
-        game.api.IBoard board = ServiceLoader.createBoard();
+        context.setMapProvider(mapProvider);
+        context.setPlayers(playerArray);
+        context.setRuleSetProvider(ruleSet);
+        game.api.IBoard board = ServiceLoader.createBoard(context);
         gameEngine.setBoard(board);
-        GameContext.getInstance().setBoard(board);
-        EventBus.getInstance().subscribe("ChessmanMoved", event -> {
-            ui.update();
-        });
+        context.setBoard(board);
+        // 渲染放在 RENDER 通道上异步执行，回合循环不等待界面刷新。
+        // 引擎线程在每次移动后只把棋子位置写入复用的快照，渲染线程从快照载入自己的对局副本，
+        // 不接触仍在变化的对局；RENDER 通道丢弃旧事件时，留下的最新事件取到的也是最新的局面。
+        SnapshotView renderView = new SnapshotView(context);
+        context.getEventBus().subscribe(game.api.EventType.CHESSMAN_MOVED, event -> renderView.capture());
+        context.getEventBus().subscribe(game.api.EventType.CHESSMAN_MOVED, event -> {
+            IGameContext view = renderView.take();
+            if (view != null) {
+                ui.update(view);
+            }
+        }, game.api.IEventBus.Lane.RENDER);
 
         ui.displayMessage("[OK] 游戏引擎配置完成\n");
         engine.initialize(players);
         ui.displayMessage("[OK]  已初始化 " + players.size() + " 名玩家\n");
+        if (saved != null) {
+            saved.restore(context);
+            ui.displayMessage("[OK] 已从存档恢复对局，第 " + saved.getTurnNumber() + " 回合\n");
+        }
+        SaveFile saveFile = createSaveFile(config, ui);
 
         ui.displayMessage("========================================");
         ui.displayMessage("    [OK] 游戏准备就绪！开始游戏...");
         ui.displayMessage("========================================\n");
-        ui.setContext(game.engine.GameContext.getInstance());
+        ui.setContext(context);
         ui.update();
         System.out.println("[DEBUG] 初始地图已渲染");
         boolean playAgain = true;
+        int gameIndex = 0;
         // 再玩一局
         while (playAgain) {
-            runGameLoop(engine, ui);
+            // 从存档继续的对局缺少开局以来的记录，无法录像
+            GameJournal journal = saved != null && gameIndex == 0 ? null
+                    : startRecording(config, context, playerArray, gameIndex, ui);
+            gameIndex++;
+            runGameLoop(engine, ui, context, saveFile);
+            stopRecording(context, journal, ui);
             ui.displayMessage("\n========================================");
             ui.displayMessage("           [NOTICE] 游戏结束！");
             ui.displayMessage("========================================\n");
@@ -141,7 +333,8 @@ public class Main {
 
             if (playAgain) {
                 ui.displayMessage("\n[INFO] 重新开始游戏...\n");
-                game.api.IPlayer[] newPlayerArray = ServiceLoader.createPlayers(ui, ruleSet, mapProvider);
+                game.api.IPlayer[] newPlayerArray = ServiceLoader.createPlayers(ui, ruleSet, mapProvider,
+                        config.getBotCount(), bot);
                 List<IPlayer> newPlayers = java.util.Arrays.asList(newPlayerArray);
                 engine.initialize(newPlayers);
                 ui.update();
@@ -154,9 +347,95 @@ public class Main {
         }
 
         ui.displayMessage("\n[INFO] 感谢游玩！\n");
+        if (bot != null) {
+            bot.shutdown();
+        }
+        if (saveFile != null) {
+            try {
+                saveFile.close();
+            } catch (java.io.IOException e) {
+                ui.displayError("关闭存档失败: " + e.getMessage());
+            }
+        }
         ui.close();
     }
 
+    private static SaveFile.SavedGame loadSave(GameConfig config) {
+        if (config.getLoadFile() == null) {
+            return null;
+        }
+        try {
+            SaveFile.SavedGame saved = SaveFile.load(java.nio.file.Paths.get(config.getLoadFile()));
+            System.out.println("[OK] 已读取存档: " + config.getLoadFile());
+            return saved;
+        } catch (java.io.IOException e) {
+            throw new RuntimeException("无法读取存档 " + config.getLoadFile() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void checkPluginVersion(String kind, String name, String savedVersion, String version) {
+        if (!savedVersion.equals(version)) {
+            System.out.println("[WARNING] 存档使用的" + kind + " " + name + " 版本为 " + savedVersion
+                    + "，当前为 " + version + "，对局可能无法准确还原");
+        }
+    }
+
+    private static SaveFile createSaveFile(GameConfig config, IUserInterface ui) {
+        if (config.getSaveFile() == null) {
+            return null;
+        }
+        try {
+            SaveFile saveFile = SaveFile.create(java.nio.file.Paths.get(config.getSaveFile()));
+            ui.displayMessage("[OK] 每回合自动存档到 " + config.getSaveFile());
+            return saveFile;
+        } catch (java.io.IOException e) {
+            ui.displayError("无法创建存档文件 " + config.getSaveFile() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 指定了 --record 时为本局创建录像，第 2 局起在文件名后追加局序号
+     */
+    private static GameJournal startRecording(GameConfig config, GameContext context, IPlayer[] players,
+            int gameIndex, IUserInterface ui) {
+        if (config.getRecordFile() == null) {
+            return null;
+        }
+        // 录制的对局使用已知的随机种子，回放时据此还原方块效果的随机结果
+        long seed = config.getSeed() + gameIndex;
+        context.setSeed(seed);
+        String file = gameIndex == 0 ? config.getRecordFile() : config.getRecordFile() + "." + (gameIndex + 1);
+        String[] names = new String[players.length];
+        for (int i = 0; i < players.length; i++) {
+            names[i] = players[i].getName();
+        }
+        IMapProvider mapProvider = context.getMapProvider();
+        GameJournal.Header header = new GameJournal.Header(seed, mapProvider.getMapName(), mapProvider.getSeed(),
+                context.getRuleSetProvider().getRuleSetName(), players[0].getChessman().length, names);
+        try {
+            GameJournal journal = GameJournal.record(java.nio.file.Paths.get(file), header);
+            context.setJournal(journal);
+            ui.displayMessage("[OK] 本局录像将保存到 " + file);
+            return journal;
+        } catch (java.io.IOException e) {
+            ui.displayError("无法创建录像文件 " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void stopRecording(GameContext context, GameJournal journal, IUserInterface ui) {
+        if (journal == null) {
+            return;
+        }
+        context.setJournal(null);
+        try {
+            journal.close();
+        } catch (java.io.IOException e) {
+            ui.displayError("保存录像失败: " + e.getMessage());
+        }
+    }
+
     private static GameConfig parseArgs(String[] args) {
         GameConfig config = new GameConfig();
 
@@ -191,6 +470,98 @@ public class Main {
                     }
                     break;
 
+                case "--simulate":
+                    if (i + 1 < args.length) {
+                        config.setSimulateGames(parsePositiveInt(arg, args[++i]));
+                    }
+                    break;
+
+                case "--players":
+                    if (i + 1 < args.length) {
+                        config.setPlayerCount(parsePositiveInt(arg, args[++i]));
+                    }
+                    break;
+
+                case "--chessmen":
+                    if (i + 1 < args.length) {
+                        config.setChessmanCount(parsePositiveInt(arg, args[++i]));
+                    }
+                    break;
+
+                case "--workers":
+                    if (i + 1 < args.length) {
+                        config.setWorkers(parsePositiveInt(arg, args[++i]));
+                    }
+                    break;
+
+                case "--seed":
+                    if (i + 1 < args.length) {
+                        config.setSeed(parseLong(arg, args[++i]));
+                    }
+                    break;
+
+                case "--bots":
+                    if (i + 1 < args.length) {
+                        config.setBotCount(parsePositiveInt(arg, args[++i]));
+                    }
+                    break;
+
+                case "--think-ms":
+                    if (i + 1 < args.length) {
+                        config.setThinkMillis(parsePositiveInt(arg, args[++i]));
+                    }
+                    break;
+
+                case "--bot-threads":
+                    if (i + 1 < args.length) {
+                        config.setBotThreads(parsePositiveInt(arg, args[++i]));
+                    }
+                    break;
+
+                case "--record":
+                    if (i + 1 < args.length) {
+                        config.setRecordFile(args[++i]);
+                    }
+                    break;
+
+                case "--replay":
+                    if (i + 1 < args.length) {
+                        config.setReplayFile(args[++i]);
+                    }
+                    break;
+
+                case "--save":
+                    if (i + 1 < args.length) {
+                        config.setSaveFile(args[++i]);
+                    }
+                    break;
+
+                case "--load":
+                    if (i + 1 < args.length) {
+                        config.setLoadFile(args[++i]);
+                    }
+                    break;
+
+                case "--scaling":
+                    config.setScaling(true);
+                    break;
+
+                case "--analyze":
+                    config.setAnalyze(true);
+                    break;
+
+                case "--map-seed":
+                    if (i + 1 < args.length) {
+                        config.setMapSeed(parseLong(arg, args[++i]));
+                    }
+                    break;
+
+                case "--map-cache":
+                    if (i + 1 < args.length) {
+                        config.setMapCacheDir(args[++i]);
+                    }
+                    break;
+
                 case "--help":
                     printHelp();
                     System.exit(0);
@@ -206,6 +577,32 @@ public class Main {
         return config;
     }
 
+    private static int parsePositiveInt(String option, String value) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // 下方统一报错
+        }
+        System.err.println("[ERROR] 参数 " + option + " 需要一个正整数: " + value);
+        printHelp();
+        System.exit(1);
+        return 0;
+    }
+
+    private static long parseLong(String option, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[ERROR] 参数 " + option + " 需要一个整数: " + value);
+            printHelp();
+            System.exit(1);
+            return 0;
+        }
+    }
+
     private static void printHelp() {
         System.out.println("Usage: java bootstrap.Main [options]");
         System.out.println("\nOptions:");
@@ -213,12 +610,34 @@ public class Main {
         System.out.println("  --ruleset, -r <name>  规则集名称 (默认: default)");
         System.out.println("  --ui <type>           用户界面类型: tui 或 gui (默认: gui)");
         System.out.println("  --plugin, -p <path>   插件JAR文件路径 (可多次指定)");
+        System.out.println("  --simulate <N>        无界面批量模拟 N 局并输出吞吐量统计");
+        System.out.println("  --players <n>         模拟模式的玩家数量 (默认: 地图推荐人数)");
+        System.out.println("  --chessmen <n>        模拟模式每个玩家的棋子数量 (默认: 地图上限)");
+        System.out.println("  --workers <n>         模拟模式的并行线程数 (默认: CPU 核数)");
+        System.out.println("  --seed <n>            模拟与录制的基础随机种子, 同时固定地图种子 (默认: 当前时间)");
+        System.out.println("  --scaling             模拟模式下从 1 线程逐级加倍, 报告加速比");
+        System.out.println("  --bots <n>            电脑玩家数量 (对局中为最后 n 名玩家, 模拟模式为前 n 名)");
+        System.out.println("  --think-ms <ms>       电脑玩家每步的思考时间上限 (默认: 200)");
+        System.out.println("  --bot-threads <n>     电脑玩家并行模拟的线程数 (默认: CPU 核数)");
+        System.out.println("  --record <file>       把每局的掷骰与选择录制到文件 (第 2 局起追加局序号)");
+        System.out.println("  --replay <file>       无界面全速回放录像并输出结局");
+        System.out.println("  --save <file>         每回合结束后自动存档到文件");
+        System.out.println("  --load <file>         从存档继续对局 (地图与规则集取自存档)");
+        System.out.println("  --map-seed <n>        生成地图所用的种子 (默认: 取 --seed, 都未指定时由地图自行决定)");
+        System.out.println("  --map-cache <dir>     把生成的地图缓存到目录, 同一种子与参数不再重新生成");
+        System.out.println("  --analyze             不模拟, 直接计算期望对局长度与各玩家胜率");
         System.out.println("  --help                显示帮助信息");
         System.out.println("\nExamples:");
         System.out.println("  java bootstrap.Main");
         System.out.println("  java bootstrap.Main --map default --ui gui");
         System.out.println("  java bootstrap.Main --plugin myplugin.jar --map custom");
         System.out.println("  java bootstrap.Main -p plugin1.jar -p plugin2.jar -r custom");
+        System.out.println("  java bootstrap.Main -p myplugin.jar --simulate 10000 --players 4");
+        System.out.println("  java bootstrap.Main -p myplugin.jar --map default --analyze");
+        System.out.println("  java bootstrap.Main -p myplugin.jar --bots 3 --think-ms 500");
+        System.out.println("  java bootstrap.Main -p myplugin.jar --record game.acj");
+        System.out.println("  java bootstrap.Main -p myplugin.jar --replay game.acj");
+        System.out.println("  java bootstrap.Main -p myplugin.jar --load table1.sav --save table1.sav");
     }
 
     private static class GameConfig {
@@ -226,6 +645,23 @@ public class Main {
         private String ruleSetName = "default";
         private String uiType = "gui";
         private java.util.List<String> pluginJars = new java.util.ArrayList<>();
+        private int simulateGames = 0;
+        private int playerCount = 0;
+        private int chessmanCount = 0;
+        private int workers = Runtime.getRuntime().availableProcessors();
+        private long seed = System.nanoTime();
+        private boolean seedSet = false;
+        private Long mapSeed = null;
+        private boolean scaling = false;
+        private int botCount = 0;
+        private int thinkMillis = 200;
+        private int botThreads = Runtime.getRuntime().availableProcessors();
+        private String recordFile = null;
+        private String replayFile = null;
+        private String saveFile = null;
+        private String loadFile = null;
+        private String mapCacheDir = null;
+        private boolean analyze = false;
 
         // Getters and Setters
         public String getMapName() {
@@ -260,5 +696,137 @@ public class Main {
             this.pluginJars.add(jarPath);
         }
 
+        public int getSimulateGames() {
+            return simulateGames;
+        }
+
+        public void setSimulateGames(int simulateGames) {
+            this.simulateGames = simulateGames;
+        }
+
+        public int getPlayerCount() {
+            return playerCount;
+        }
+
+        public void setPlayerCount(int playerCount) {
+            this.playerCount = playerCount;
+        }
+
+        public int getChessmanCount() {
+            return chessmanCount;
+        }
+
+        public void setChessmanCount(int chessmanCount) {
+            this.chessmanCount = chessmanCount;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+            this.seedSet = true;
+        }
+
+        /**
+         * 地图种子：优先取 --map-seed，其次由 --seed 派生，都未指定时返回 null，地图保留自己的种子
+         */
+        public Long getMapSeed() {
+            return mapSeed != null ? mapSeed : seedSet ? Long.valueOf(seed) : null;
+        }
+
+        public void setMapSeed(long mapSeed) {
+            this.mapSeed = mapSeed;
+        }
+
+        public boolean isScaling() {
+            return scaling;
+        }
+
+        public void setScaling(boolean scaling) {
+            this.scaling = scaling;
+        }
+
+        public int getBotCount() {
+            return botCount;
+        }
+
+        public void setBotCount(int botCount) {
+            this.botCount = botCount;
+        }
+
+        public int getThinkMillis() {
+            return thinkMillis;
+        }
+
+        public void setThinkMillis(int thinkMillis) {
+            this.thinkMillis = thinkMillis;
+        }
+
+        public int getBotThreads() {
+            return botThreads;
+        }
+
+        public void setBotThreads(int botThreads) {
+            this.botThreads = botThreads;
+        }
+
+        public String getRecordFile() {
+            return recordFile;
+        }
+
+        public void setRecordFile(String recordFile) {
+            this.recordFile = recordFile;
+        }
+
+        public String getReplayFile() {
+            return replayFile;
+        }
+
+        public void setReplayFile(String replayFile) {
+            this.replayFile = replayFile;
+        }
+
+        public String getSaveFile() {
+            return saveFile;
+        }
+
+        public void setSaveFile(String saveFile) {
+            this.saveFile = saveFile;
+        }
+
+        public String getLoadFile() {
+            return loadFile;
+        }
+
+        public void setLoadFile(String loadFile) {
+            this.loadFile = loadFile;
+        }
+
+        public String getMapCacheDir() {
+            return mapCacheDir;
+        }
+
+        public void setMapCacheDir(String mapCacheDir) {
+            this.mapCacheDir = mapCacheDir;
+        }
+
+        public boolean isAnalyze() {
+            return analyze;
+        }
+
+        public void setAnalyze(boolean analyze) {
+            this.analyze = analyze;
+        }
+
     }
 }
@@ -0,0 +1,82 @@
+package bootstrap;
+
+import game.api.IChessman;
+import game.api.IPlayer;
+import game.engine.GameContext;
+import game.engine.GameEngine;
+import game.engine.GameJournal;
+import game.engine.Player;
+import plugin.api.IMapProvider;
+import plugin.api.IRuleSetProvider;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * 对局录像回放
+ * 按录像文件头还原地图、规则集、玩家与随机种子，骰子点数与操作选择全部取自录像，
+ * 不挂接任何界面、不等待动画，以 CPU 速度重新执行整局，最后输出结局与各棋子位置。
+ */
+public class Replayer {
+
+    /**
+     * 回放录像并打印结果
+     *
+     * @param file 录像文件路径
+     */
+    public static void replay(String file) throws IOException {
+        try (GameJournal journal = GameJournal.replay(Paths.get(file))) {
+            GameJournal.Header header = journal.getHeader();
+            IMapProvider mapProvider = ServiceLoader.loadMapProvider(header.getMapName());
+            mapProvider.setSeed(header.getMapSeed());
+            IRuleSetProvider ruleSet = ServiceLoader.loadRuleSet(header.getRuleSetName());
+            System.out.println("[REPLAY] 录像: " + file + ", 规则集: " + ruleSet.getRuleSetName() + ", 地图: "
+                    + mapProvider.getMapName() + " (种子 " + header.getMapSeed() + "), 随机种子: " + header.getSeed());
+
+            GameContext context = new GameContext();
+            context.setVerbose(false);
+            context.setSeed(header.getSeed());
+            context.setMapProvider(mapProvider);
+            context.setRuleSetProvider(ruleSet);
+            context.setJournal(journal);
+            GameEngine engine = (GameEngine) ServiceLoader.loadGameEngine(context);
+            engine.setBoard(ServiceLoader.createBoard(context));
+
+            String[] names = header.getPlayerNames();
+            IPlayer[] players = new IPlayer[names.length];
+            for (int i = 0; i < names.length; i++) {
+                players[i] = new Player(names[i], i, header.getChessmanCount());
+            }
+            engine.initialize(Arrays.asList(players));
+            engine.start();
+
+            long startTime = System.nanoTime();
+            int turns = 0;
+            while (!context.state.isGameOver() && journal.hasMore()) {
+                engine.playTurn();
+                turns++;
+            }
+            double millis = (System.nanoTime() - startTime) / 1e6;
+            engine.stop();
+
+            System.out.printf("[REPLAY] 回放 %d 回合 (骰子 %d 次, 选择 %d 次), 用时 %.1f 毫秒%n", turns,
+                    journal.getDiceCount(), journal.getChoiceCount(), millis);
+            IPlayer winner = context.state.getWinner();
+            System.out.println("[REPLAY] " + (context.state.isGameOver()
+                    ? "游戏结束，获胜者：" + (winner != null ? winner.getName() : "无")
+                    : "录像在对局结束前中止"));
+            for (IPlayer player : players) {
+                StringBuilder line = new StringBuilder("  " + player.getName() + ":");
+                for (IChessman chessman : player.getChessman()) {
+                    line.append(' ').append(chessman.getPosition());
+                }
+                System.out.println(line);
+            }
+            if (journal.getMismatches() > 0) {
+                System.out.println("[WARNING] 有 " + journal.getMismatches()
+                        + " 次掷骰与录像不一致，插件或规则可能与录制时不同");
+            }
+        }
+    }
+}
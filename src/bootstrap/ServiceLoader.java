@@ -2,6 +2,7 @@ package bootstrap;
 
 import bootstrap.spi.PluginLoader;
 import game.api.IGameEngine;
+import game.engine.GameContext;
 import game.engine.GameEngine;
 import plugin.api.IRuleSetProvider;
 import plugin.api.IMapProvider;
@@ -15,10 +16,11 @@ public class ServiceLoader {
     /**
      * 加载GameEngine实现
      * 
+     * @param context 该局游戏的上下文
      * @return GameEngine实例
      */
-    public static IGameEngine loadGameEngine() {
-        return new GameEngine();
+    public static IGameEngine loadGameEngine(GameContext context) {
+        return new GameEngine(context);
     }
 
     /**
@@ -69,6 +71,20 @@ public class ServiceLoader {
      */
     public static game.api.IPlayer[] createPlayers(ui.api.IUserInterface ui, IRuleSetProvider ruleSet,
             IMapProvider mapProvider) {
+        return createPlayers(ui, ruleSet, mapProvider, 0, null);
+    }
+
+    /**
+     * 创建玩家列表，最后 botCount 名玩家由电脑担任
+     * 
+     * @param ui               UI界面
+     * @param ruleSet          规则集
+     * @param botCount         电脑玩家数量，超过玩家总数时全部由电脑担任
+     * @param decisionProvider 电脑玩家共用的决策提供者
+     * @return 玩家数组
+     */
+    public static game.api.IPlayer[] createPlayers(ui.api.IUserInterface ui, IRuleSetProvider ruleSet,
+            IMapProvider mapProvider, int botCount, game.api.IDecisionProvider decisionProvider) {
         int minPlayers = mapProvider.getMinPlayers();
         int maxPlayers = mapProvider.getMaxPlayers();
 
@@ -104,12 +120,19 @@ public class ServiceLoader {
         game.api.IPlayer[] players = new game.api.IPlayer[playerCount];
         String[] colorName = mapProvider.getPlayerColorsName();
 
+        int firstBot = decisionProvider == null ? playerCount : Math.max(0, playerCount - botCount);
         for (int i = 0; i < playerCount; i++) {
+            String color = colorName[i % colorName.length];
+            if (i >= firstBot) {
+                String name = "电脑" + (i - firstBot + 1);
+                players[i] = new game.engine.BotPlayer(name, i, chessmanCount, decisionProvider);
+                ui.displayMessage("[OK] 电脑玩家 " + name + " (" + color + ") 已加入游戏");
+                continue;
+            }
             String name = ui.getUserInput("请输入玩家 " + (i + 1) + " 的名字");
             if (name.isEmpty()) {
                 name = "玩家" + (i + 1);
             }
-            String color = colorName[i % colorName.length];
             players[i] = new game.engine.Player(name, i, chessmanCount);
             ui.displayMessage("[OK] 玩家 " + name + " (" + color + ") 已加入游戏");
         }
@@ -120,12 +143,10 @@ public class ServiceLoader {
     /**
      * 创建游戏棋盘
      * 
-     * @param mapProvider 地图提供者
-     * @param players     玩家数组
-     * @param ruleSet     规则集
+     * @param context 该局游戏的上下文
      * @return 棋盘实例
      */
-    public static game.api.IBoard createBoard() {
-        return new game.engine.Board();
+    public static game.api.IBoard createBoard(GameContext context) {
+        return new game.engine.Board(context);
     }
 }
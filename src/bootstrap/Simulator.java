@@ -0,0 +1,363 @@
+package bootstrap;
+
+import game.api.IBoard;
+import game.api.IDecisionProvider;
+import game.api.IPlayer;
+import game.api.TurnPhase;
+import game.engine.BlockEffectResolver;
+import game.engine.Board;
+import game.engine.BotPlayer;
+import game.engine.GameContext;
+import game.engine.GameEngine;
+import game.engine.LandingTable;
+import game.engine.Player;
+import plugin.api.IMapProvider;
+import plugin.api.IRuleSetProvider;
+import plugin.api.PathTable;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 无界面批量模拟
+ * 不挂接任何 IUserInterface，关闭调试输出，以 CPU 速度连续对局并统计吞吐量。
+ * 对局按批次分摊到 ForkJoinPool 的各个工作线程上，每局拥有独立的上下文与随机源，
+ * 同一批次的对局在工作线程上轮流 step() 交替推进，
+ * 各批次的统计结果在 join 时逐级合并，不经过任何全局锁。
+ * 可以让前若干名玩家由电脑玩家担任，报告中会给出各玩家的胜局数，用于评估电脑玩家的强度。
+ */
+public class Simulator {
+    // 单局回合上限，防止极端地图下对局无法结束；超长地图按路径长度放大
+    private static final int MAX_TURNS_PER_GAME = 100_000;
+    private static final int MAX_TURNS_PER_POSITION = 64;
+    // 叶子任务连续模拟的局数，小于该值不再拆分
+    private static final int BATCH_SIZE = 32;
+
+    private final IRuleSetProvider ruleSet;
+    private final IMapProvider mapProvider;
+    private final int playerCount;
+    private final int chessmanCount;
+    private final long seed;
+    private int botCount;
+    private IDecisionProvider botDecisionProvider;
+    private PathTable pathTable;
+    private LandingTable landingTable;
+    private int maxTurns;
+
+    public Simulator(IRuleSetProvider ruleSet, IMapProvider mapProvider, int playerCount, int chessmanCount,
+            long seed) {
+        if (playerCount <= 0) {
+            playerCount = Math.max(mapProvider.getMinPlayers(),
+                    Math.min(mapProvider.getRecommendedPlayers(), mapProvider.getMaxPlayers()));
+        }
+        if (chessmanCount <= 0) {
+            chessmanCount = mapProvider.getMaxChessmanPerPlayer();
+        }
+        if (playerCount < mapProvider.getMinPlayers() || playerCount > mapProvider.getMaxPlayers()) {
+            throw new IllegalArgumentException("玩家数量必须在 " + mapProvider.getMinPlayers() + "-"
+                    + mapProvider.getMaxPlayers() + " 之间");
+        }
+        if (chessmanCount < 1 || chessmanCount > mapProvider.getMaxChessmanPerPlayer()) {
+            throw new IllegalArgumentException("每个玩家的棋子数量必须在 1-"
+                    + mapProvider.getMaxChessmanPerPlayer() + " 之间");
+        }
+        this.ruleSet = ruleSet;
+        this.mapProvider = mapProvider;
+        this.playerCount = playerCount;
+        this.chessmanCount = chessmanCount;
+        this.seed = seed;
+    }
+
+    /**
+     * 让前 count 名玩家由电脑玩家担任，其余玩家随机选择操作
+     *
+     * @param count            电脑玩家数量
+     * @param decisionProvider 电脑玩家共用的决策提供者，会被多个模拟线程同时调用
+     */
+    public void setBots(int count, IDecisionProvider decisionProvider) {
+        if (count < 0 || count > playerCount) {
+            throw new IllegalArgumentException("电脑玩家数量必须在 0-" + playerCount + " 之间");
+        }
+        this.botCount = count;
+        this.botDecisionProvider = decisionProvider;
+    }
+
+    /**
+     * 模拟指定局数并打印统计结果
+     *
+     * @param games   局数
+     * @param workers 工作线程数
+     * @param scaling 是否从 1 个线程逐级加倍到 workers，报告加速比
+     */
+    public void run(int games, int workers, boolean scaling) {
+        System.out.println("[SIM] 规则集: " + ruleSet.getRuleSetName() + ", 地图: " + mapProvider.getMapName()
+                + ", 玩家数: " + playerCount + ", 每人棋子数: " + chessmanCount + ", 局数: " + games
+                + ", 线程数: " + workers + ", 种子: " + seed
+                + (botCount > 0 ? ", 电脑玩家: " + botCount : ""));
+
+        pathTable = mapProvider.getPathTable(); // 预先生成并编译地图，各局共用，避免多个线程同时触发懒加载
+        landingTable = LandingTable.build(mapProvider, pathTable, ruleSet, playerCount); // 各局共用，只读
+        maxTurns = (int) Math.min(Integer.MAX_VALUE,
+                Math.max(MAX_TURNS_PER_GAME, (long) mapProvider.getMapSize() * MAX_TURNS_PER_POSITION));
+
+        if (!scaling) {
+            printReport(simulate(games, workers));
+            return;
+        }
+
+        simulate(Math.min(games, 500), workers); // 预热 JIT，避免首轮测量偏慢导致加速比失真
+        System.out.println("\n线程数   用时(秒)      局/秒      回合/秒   加速比   效率");
+        double baseline = 0;
+        SimulationStats last = null;
+        for (int w = 1;; w = Math.min(w * 2, workers)) {
+            SimulationStats stats = simulate(games, w);
+            double gamesPerSecond = stats.games / stats.seconds;
+            if (w == 1) {
+                baseline = gamesPerSecond;
+            }
+            double speedup = gamesPerSecond / baseline;
+            System.out.printf("%6d %10.3f %10.1f %12.1f %8.2f %6.0f%%%n", w, stats.seconds, gamesPerSecond,
+                    stats.totalTurns / stats.seconds, speedup, speedup / w * 100);
+            last = stats;
+            if (w == workers) {
+                break;
+            }
+        }
+        printReport(last);
+    }
+
+    private SimulationStats simulate(int games, int workers) {
+        int[] gameLengths = new int[games];
+        int[] winners = new int[games];
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            long startTime = System.nanoTime();
+            SimulationStats stats = pool.invoke(new BatchTask(gameLengths, winners, 0, games));
+            stats.seconds = (System.nanoTime() - startTime) / 1e9;
+            stats.gameLengths = gameLengths;
+            stats.winners = winners;
+            return stats;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 一局模拟中的对局，由所在批次在同一线程上与其他对局轮流 step()
+     */
+    private class SimGame {
+        private final int gameIndex;
+        private final GameContext context;
+        private final GameEngine engine;
+        private final IBoard board;
+        private final IPlayer[] players;
+        private int turns;
+
+        /**
+         * @param gameIndex 局序号，与基础种子共同决定该局的随机序列
+         */
+        SimGame(int gameIndex) {
+            this.gameIndex = gameIndex;
+            // 每局使用独立的上下文、事件总线、状态与随机源
+            context = new GameContext();
+            context.setVerbose(false);
+            context.setSeed(seed + gameIndex * 0x9E3779B97F4A7C15L);
+            context.setMapProvider(mapProvider, pathTable);
+            context.setRuleSetProvider(ruleSet);
+            engine = (GameEngine) ServiceLoader.loadGameEngine(context);
+            board = ServiceLoader.createBoard(context);
+            if (board instanceof Board) {
+                ((Board) board).setLandingTable(landingTable);
+            }
+            engine.setBoard(board);
+
+            players = new IPlayer[playerCount];
+            for (int i = 0; i < playerCount; i++) {
+                players[i] = i < botCount
+                        ? new BotPlayer("P" + (i + 1), i, chessmanCount, botDecisionProvider)
+                        : new Player("P" + (i + 1), i, chessmanCount);
+            }
+            engine.initialize(Arrays.asList(players));
+            engine.start();
+        }
+
+        /**
+         * 推进一个阶段
+         *
+         * @return 对局已结束（或到达回合上限）时返回 false
+         */
+        boolean step() {
+            if (engine.getPhase() == TurnPhase.ROLL && (context.state.isGameOver() || turns >= maxTurns)) {
+                return false;
+            }
+            if (engine.step()) {
+                if (engine.getPhase() == TurnPhase.ROLL) {
+                    turns++;
+                }
+                return true;
+            }
+            // 回合之间推进不了说明游戏已不在运行；回合中间推进不了是在等待选择，稍后再轮到它
+            return engine.getPhase() != TurnPhase.ROLL;
+        }
+
+        /**
+         * 记录结果并停止对局
+         *
+         * @param winners 写入该局胜者的下标（无胜者为 -1）
+         * @param stats   累加该局的方块连锁统计
+         * @return 该局的回合数，未在回合上限内结束时返回负数
+         */
+        int finish(int[] winners, SimulationStats stats) {
+            boolean finished = context.state.isGameOver();
+            winners[gameIndex] = Arrays.asList(players).indexOf(context.state.getWinner());
+            if (board instanceof Board) {
+                stats.addChains(((Board) board).getBlockEffectResolver());
+            }
+            engine.stop();
+            return finished ? turns : -turns;
+        }
+    }
+
+    private void printReport(SimulationStats stats) {
+        int[] lengths = stats.gameLengths;
+        Arrays.sort(lengths);
+
+        System.out.println("\n========================================");
+        System.out.println("            [SIM] 模拟结果");
+        System.out.println("========================================");
+        System.out.printf("完成对局: %d (未结束: %d), 用时 %.3f 秒%n", stats.games, stats.unfinished, stats.seconds);
+        System.out.printf("吞吐量: %.1f 局/秒, %.1f 回合/秒%n", stats.games / stats.seconds,
+                stats.totalTurns / stats.seconds);
+        System.out.printf("对局长度(回合): 平均 %.1f, p50 %d, p99 %d, 最大 %d%n",
+                (double) stats.totalTurns / stats.games, percentile(lengths, 50), percentile(lengths, 99),
+                lengths[lengths.length - 1]);
+        System.out.printf("方块连锁: 平均每回合 %.2f 次结算, 最长 %d, 循环中止 %d 次, 超长截断 %d 次%n",
+                (double) stats.landings / stats.totalTurns, stats.longestChain, stats.cycles, stats.truncated);
+        if (botCount > 0) {
+            int[] wins = new int[playerCount];
+            for (int winner : stats.winners) {
+                if (winner >= 0) {
+                    wins[winner]++;
+                }
+            }
+            StringBuilder line = new StringBuilder("胜局:");
+            for (int i = 0; i < playerCount; i++) {
+                line.append(String.format(" P%d%s %d (%.1f%%)", i + 1, i < botCount ? "[电脑]" : "", wins[i],
+                        100.0 * wins[i] / stats.games));
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * 最近秩百分位数
+     *
+     * @param sorted 已升序排列的样本
+     * @param p      百分位 (0-100)
+     */
+    private static int percentile(int[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * 一段连续局号的统计结果，由各工作线程各自累加，join 时合并
+     */
+    private static class SimulationStats {
+        int games;
+        int unfinished;
+        long totalTurns;
+        double seconds;
+        int[] gameLengths;
+        int[] winners;
+        long landings;
+        int longestChain;
+        int cycles;
+        int truncated;
+
+        void addChains(BlockEffectResolver resolver) {
+            landings += resolver.getTotalLandings();
+            longestChain = Math.max(longestChain, resolver.getLongestChain());
+            cycles += resolver.getCycles();
+            truncated += resolver.getTruncated();
+        }
+
+        SimulationStats merge(SimulationStats other) {
+            games += other.games;
+            unfinished += other.unfinished;
+            totalTurns += other.totalTurns;
+            landings += other.landings;
+            longestChain = Math.max(longestChain, other.longestChain);
+            cycles += other.cycles;
+            truncated += other.truncated;
+            return this;
+        }
+    }
+
+    /**
+     * 将 [from, to) 区间的对局二分拆分，叶子任务顺序执行一批对局。
+     * 每局的回合数与胜者写入 gameLengths、winners 中互不重叠的下标，无需同步。
+     */
+    private class BatchTask extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] gameLengths;
+        private final int[] winners;
+        private final int from;
+        private final int to;
+
+        BatchTask(int[] gameLengths, int[] winners, int from, int to) {
+            this.gameLengths = gameLengths;
+            this.winners = winners;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= BATCH_SIZE) {
+                return playInterleaved();
+            }
+
+            int mid = (from + to) >>> 1;
+            BatchTask left = new BatchTask(gameLengths, winners, from, mid);
+            left.fork();
+            SimulationStats right = new BatchTask(gameLengths, winners, mid, to).compute();
+            return right.merge(left.join());
+        }
+
+        /**
+         * 同一线程上同时进行本批次的全部对局，每轮让每局推进一个阶段，直到全部结束。
+         * 各局的随机源相互独立，交替推进不改变任何一局的结果。
+         */
+        private SimulationStats playInterleaved() {
+            SimGame[] games = new SimGame[to - from];
+            for (int g = from; g < to; g++) {
+                games[g - from] = new SimGame(g);
+            }
+
+            SimulationStats stats = new SimulationStats();
+            int active = games.length;
+            while (active > 0) {
+                for (int i = 0; i < active;) {
+                    if (games[i].step()) {
+                        i++;
+                        continue;
+                    }
+                    SimGame game = games[i];
+                    int turns = game.finish(winners, stats);
+                    if (turns < 0) {
+                        turns = -turns;
+                        stats.unfinished++;
+                    }
+                    gameLengths[game.gameIndex] = turns;
+                    stats.totalTurns += turns;
+                    stats.games++;
+                    games[i] = games[--active]; // 结束的对局换到末尾，不再轮到它
+                }
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package game.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 事件类型
+ * 同名事件类型全局唯一（驻留），并拥有从 0 开始连续分配的整数编号，
+ * 事件总线按编号直接索引监听者数组，分发时无需字符串哈希与比较。
+ */
+public final class EventType {
+    private static final Map<String, EventType> REGISTRY = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    public static final EventType GAME_INITIALIZED = of("GameInitialized");
+    public static final EventType GAME_STARTED = of("GameStarted");
+    public static final EventType GAME_STOPPED = of("GameStopped");
+    public static final EventType GAME_PAUSED = of("GamePaused");
+    public static final EventType GAME_RESUMED = of("GameResumed");
+    public static final EventType GAME_OVER = of("GameOver");
+    public static final EventType TURN_STARTED = of("TurnStarted");
+    public static final EventType DICE_ROLLED = of("DiceRolled");
+    public static final EventType END_TURN = of("EndTurn");
+    public static final EventType TURN_ENDED = of("TurnEnded");
+    public static final EventType CHESSMAN_MOVED = of("ChessmanMoved");
+    public static final EventType CHESSMAN_TAKE_OFF = of("ChessmanTakeOff");
+    public static final EventType CHESSMAN_OVER_END = of("ChessmanOverEnd");
+    public static final EventType CHESSMAN_PATH_MOVED = of("ChessmanPathMoved");
+    public static final EventType BLOCK_EFFECT = of("BlockEffect");
+    public static final EventType GRANT_NEW_TURN = of("GrantNewTurn");
+
+    private final int id;
+    private final String name;
+
+    private EventType(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * 获取（必要时注册）指定名称的事件类型，同名总是返回同一实例
+     */
+    public static EventType of(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("事件类型名称不能为空");
+        }
+        EventType type = REGISTRY.get(name);
+        if (type != null) {
+            return type;
+        }
+        return REGISTRY.computeIfAbsent(name, n -> new EventType(NEXT_ID.getAndIncrement(), n));
+    }
+
+    /**
+     * 当前已注册的事件类型数量，即编号的上界（不含）
+     */
+    public static int count() {
+        return NEXT_ID.get();
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,339 @@
+package game.api;
+
+/**
+ * 内置的类型化事件
+ * 每个回合都会发布的事件使用专用的类承载数据，字段直接读取，不经过 Map 与装箱；
+ * 描述文本只在调用 getDescription() 时才拼接。
+ * 这些事件的 getData() 返回事件本身，订阅者按类型强转后读取字段即可。
+ */
+public final class GameEvents {
+
+    private GameEvents() {
+    }
+
+    /**
+     * 类型化事件的公共基类
+     */
+    public abstract static class TypedEvent implements IGameEvent {
+        private final EventType eventType;
+        private final long timestamp = System.currentTimeMillis();
+
+        protected TypedEvent(EventType eventType) {
+            this.eventType = eventType;
+        }
+
+        @Override
+        public EventType getEventType() {
+            return eventType;
+        }
+
+        @Override
+        public String getType() {
+            return eventType.name();
+        }
+
+        @Override
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getData() {
+            return (T) this;
+        }
+    }
+
+    /**
+     * 回合开始
+     */
+    public static final class TurnStarted extends TypedEvent {
+        private final IPlayer player;
+
+        public TurnStarted(IPlayer player) {
+            super(EventType.TURN_STARTED);
+            this.player = player;
+        }
+
+        public IPlayer getPlayer() {
+            return player;
+        }
+
+        @Override
+        public String getDescription() {
+            return "玩家 " + player.getName() + " 的回合开始";
+        }
+    }
+
+    /**
+     * 骰子投掷完成
+     */
+    public static final class DiceRolled extends TypedEvent {
+        private final IPlayer player;
+        private final int diceValue;
+
+        public DiceRolled(IPlayer player, int diceValue) {
+            super(EventType.DICE_ROLLED);
+            this.player = player;
+            this.diceValue = diceValue;
+        }
+
+        public IPlayer getPlayer() {
+            return player;
+        }
+
+        public int getDiceValue() {
+            return diceValue;
+        }
+
+        @Override
+        public String getDescription() {
+            return "玩家 " + player.getName() + " 掷出 " + diceValue + " 点";
+        }
+    }
+
+    /**
+     * 回合结束信号，由引擎据此判断是否获得额外回合
+     */
+    public static final class EndTurn extends TypedEvent {
+        private final int diceValue;
+
+        public EndTurn(int diceValue) {
+            super(EventType.END_TURN);
+            this.diceValue = diceValue;
+        }
+
+        public int getDiceValue() {
+            return diceValue;
+        }
+
+        @Override
+        public String getDescription() {
+            return "回合结束信号";
+        }
+    }
+
+    /**
+     * 回合已结束
+     */
+    public static final class TurnEnded extends TypedEvent {
+        private final IPlayer player;
+        private final int diceValue;
+        private final boolean extraTurn;
+
+        public TurnEnded(IPlayer player, int diceValue, boolean extraTurn) {
+            super(EventType.TURN_ENDED);
+            this.player = player;
+            this.diceValue = diceValue;
+            this.extraTurn = extraTurn;
+        }
+
+        public IPlayer getPlayer() {
+            return player;
+        }
+
+        public int getDiceValue() {
+            return diceValue;
+        }
+
+        public boolean hasExtraTurn() {
+            return extraTurn;
+        }
+
+        @Override
+        public String getDescription() {
+            return "玩家 " + player.getName() + " 的回合结束" + (extraTurn ? "（获得额外回合）" : "");
+        }
+    }
+
+    /**
+     * 棋子停在了新的位置（会触发该位置的方块效果）
+     */
+    public static final class ChessmanMoved extends TypedEvent {
+        private final IChessman chessman;
+        private final int from;
+        private final int to;
+
+        public ChessmanMoved(IChessman chessman, int from, int to) {
+            super(EventType.CHESSMAN_MOVED);
+            this.chessman = chessman;
+            this.from = from;
+            this.to = to;
+        }
+
+        public IChessman getChessman() {
+            return chessman;
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        @Override
+        public String getDescription() {
+            return "棋子 " + chessman.getChessmanId() + " 移动到了位置 " + to;
+        }
+    }
+
+    /**
+     * 棋子起飞（会触发起点的方块效果）
+     */
+    public static final class ChessmanTakeOff extends TypedEvent {
+        private final IChessman chessman;
+        private final int position;
+
+        public ChessmanTakeOff(IChessman chessman, int position) {
+            super(EventType.CHESSMAN_TAKE_OFF);
+            this.chessman = chessman;
+            this.position = position;
+        }
+
+        public IChessman getChessman() {
+            return chessman;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        @Override
+        public String getDescription() {
+            return "棋子 " + chessman.getChessmanId() + " 起飞到位置 " + position;
+        }
+    }
+
+    /**
+     * 棋子的目标位置越过了终点，由规则决定最终位置
+     */
+    public static final class ChessmanOverEnd extends TypedEvent {
+        private final IChessman chessman;
+        private final int targetPosition;
+        private final int endPosition;
+        private final int overSteps;
+
+        public ChessmanOverEnd(IChessman chessman, int targetPosition, int endPosition, int overSteps) {
+            super(EventType.CHESSMAN_OVER_END);
+            this.chessman = chessman;
+            this.targetPosition = targetPosition;
+            this.endPosition = endPosition;
+            this.overSteps = overSteps;
+        }
+
+        public IChessman getChessman() {
+            return chessman;
+        }
+
+        public int getTargetPosition() {
+            return targetPosition;
+        }
+
+        public int getEndPosition() {
+            return endPosition;
+        }
+
+        public int getOverSteps() {
+            return overSteps;
+        }
+
+        @Override
+        public String getDescription() {
+            return "棋子越过终点";
+        }
+    }
+
+    /**
+     * 棋子完成一次逐格移动，path 依次记录起点与经过的每一格（最后一项为终点）
+     * 整段移动只发布这一个事件，供 UI 播放动画；落点的方块效果仍由 ChessmanMoved 触发。
+     */
+    public static final class ChessmanPathMoved extends TypedEvent {
+        private final IChessman chessman;
+        private final int[] path;
+
+        public ChessmanPathMoved(IChessman chessman, int[] path) {
+            super(EventType.CHESSMAN_PATH_MOVED);
+            this.chessman = chessman;
+            this.path = path;
+        }
+
+        public IChessman getChessman() {
+            return chessman;
+        }
+
+        /**
+         * 路径数组由事件直接持有，订阅者只读，不要修改
+         */
+        public int[] getPath() {
+            return path;
+        }
+
+        public int getFrom() {
+            return path[0];
+        }
+
+        public int getTo() {
+            return path[path.length - 1];
+        }
+
+        public int getSteps() {
+            return path.length - 1;
+        }
+
+        @Override
+        public String getDescription() {
+            return "棋子 " + chessman.getChessmanId() + " 从位置 " + getFrom() + " 移动 " + getSteps() + " 格到位置 "
+                    + getTo();
+        }
+    }
+
+    /**
+     * 方块效果触发，message 供 UI 呈现
+     */
+    public static final class BlockEffect extends TypedEvent {
+        private final IChessman chessman;
+        private final String message;
+
+        public BlockEffect(IChessman chessman, String message) {
+            super(EventType.BLOCK_EFFECT);
+            this.chessman = chessman;
+            this.message = message;
+        }
+
+        public IChessman getChessman() {
+            return chessman;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String getDescription() {
+            return "方块效果触发";
+        }
+    }
+
+    /**
+     * 地图效果授予当前玩家额外一轮
+     */
+    public static final class GrantNewTurn extends TypedEvent {
+        private final IChessman chessman;
+
+        public GrantNewTurn(IChessman chessman) {
+            super(EventType.GRANT_NEW_TURN);
+            this.chessman = chessman;
+        }
+
+        public IChessman getChessman() {
+            return chessman;
+        }
+
+        @Override
+        public String getDescription() {
+            return "该玩家再来一轮";
+        }
+    }
+}
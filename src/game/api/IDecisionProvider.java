@@ -0,0 +1,22 @@
+package game.api;
+
+import java.util.List;
+
+/**
+ * 玩家决策提供者
+ * 掷骰后有多个可选操作时，规则引擎优先询问玩家的决策提供者，
+ * 没有提供者的玩家（人类玩家）才交由用户界面选择。
+ */
+public interface IDecisionProvider {
+
+    /**
+     * 选择本次掷骰要执行的操作
+     *
+     * @param context   当前对局的上下文，调用期间引擎线程阻塞等待，局面不会变化
+     * @param player    需要做出选择的玩家
+     * @param diceValue 掷出的点数
+     * @param options   可选操作的描述，顺序与规则引擎一致
+     * @return 所选操作的下标 (0 - options.size()-1)
+     */
+    int chooseAction(IGameContext context, IPlayer player, int diceValue, List<String> options);
+}
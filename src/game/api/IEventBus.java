@@ -1,16 +1,80 @@
 package game.api;
 
+/**
+ * 事件总线
+ * 订阅按监听者对象的同一性（==）登记：同一个监听者实例对同一事件类型重复订阅时，
+ * 不会重复登记，而是返回已有的订阅句柄。不同实例（即使属于同一个类）互不影响。
+ * 注意方法引用与 lambda 每次求值都会得到新的对象：两次 subscribe(type, this::onX)
+ * 会登记两个监听者。需要去重或退订时，保存监听者实例或 subscribe 返回的 Subscription，
+ * 退订一律通过 Subscription.unsubscribe() 完成。
+ */
 public interface IEventBus {
 
-    void subscribe(String eventType, IEventListener listener);
+    Subscription subscribe(String eventType, IEventListener listener);
 
+    Subscription subscribe(EventType eventType, IEventListener listener);
+
+    /**
+     * 在指定通道上订阅，未指定通道的重载均为 SYNC
+     * 同一监听者已在其他通道订阅了该事件类型时抛出 IllegalArgumentException，
+     * 需要换通道时先退订原有的 Subscription。
+     */
+    Subscription subscribe(EventType eventType, IEventListener listener, Lane lane);
+
+    /**
+     * @deprecated 按监听者同一性查找，传入方法引用时总是找不到已有的订阅而静默失败，
+     *             请改用 subscribe 返回的 Subscription.unsubscribe()
+     */
+    @Deprecated
     void unsubscribe(String eventType, IEventListener listener);
 
+    /**
+     * @deprecated 按监听者同一性查找，传入方法引用时总是找不到已有的订阅而静默失败，
+     *             请改用 subscribe 返回的 Subscription.unsubscribe()
+     */
+    @Deprecated
+    void unsubscribe(EventType eventType, IEventListener listener);
+
     void publish(IGameEvent event);
 
+    /**
+     * 等待异步通道把此前发布的事件全部交付完毕（在通道线程内调用时立即返回）
+     * 需要与渲染输出保持先后顺序的场合使用，例如控制台在提示输入之前。
+     */
+    void awaitIdle();
+
     void clear();
 
+    /**
+     * 监听者通道
+     */
+    enum Lane {
+        /** 在发布线程上立即执行，用于规则逻辑 */
+        SYNC,
+        /**
+         * 渲染：独立线程异步执行，队列满时丢弃最旧的事件，只保证最终画面
+         * 只适合"立即重绘"这类可以合并的信号；动画路径、提示消息、游戏结束等必须送达的事件请用 BACKGROUND
+         */
+        RENDER,
+        /** 日志、统计等后台任务：独立线程异步执行，队列满时发布方等待，不丢事件 */
+        BACKGROUND
+    }
+
     interface IEventListener {
         void onEvent(IGameEvent event);
     }
+
+    /**
+     * 订阅句柄，由 subscribe 返回，可直接用于退订
+     */
+    interface Subscription {
+        EventType getEventType();
+
+        boolean isActive();
+
+        /**
+         * 退订，重复调用无副作用
+         */
+        void unsubscribe();
+    }
 }
@@ -1,7 +1,10 @@
 package game.api;
 
+import java.util.Random;
+
 import plugin.api.IMapProvider;
 import plugin.api.IRuleSetProvider;
+import plugin.api.PathTable;
 import ui.api.IUserInterface;
 
 public interface IGameContext {
@@ -9,6 +12,12 @@ public interface IGameContext {
 
     public void setMapProvider(IMapProvider mapProvider);
 
+    /**
+     * 本局地图的路径表，在设置地图时编译一次，整局复用
+     * 结算落点与绘制地图都应通过它访问方块与坐标，而不是每次向地图提供者索取。
+     */
+    public PathTable getPathTable();
+
     public IRuleSetProvider getRuleSetProvider();
 
     public void setRuleSetProvider(IRuleSetProvider ruleSetProvider);
@@ -35,6 +44,18 @@ public interface IGameContext {
 
     public int getCurrentDiceValue();
 
+    public boolean isVerbose();
+
+    /**
+     * 本局主随机流的 java.util.Random 形式，新代码请使用 getRandomSource()
+     */
+    public Random getRandom();
+
+    /**
+     * 本局的随机源，插件通过 stream(名称) 取得自己的派生流
+     */
+    public IRandomSource getRandomSource();
+
     public void reset();
 
     public void clear();
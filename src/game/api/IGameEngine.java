@@ -1,6 +1,8 @@
 package game.api;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface IGameEngine {
 
@@ -15,4 +17,29 @@ public interface IGameEngine {
     void stop();
 
     void playTurn();
+
+    /**
+     * 推进当前回合的一个阶段
+     * 多局游戏可以在同一线程上轮流调用各自的 step() 交替进行。
+     *
+     * @return 没能推进时返回 false（游戏未运行、已暂停、已结束，或仍在等待玩家选择）
+     */
+    boolean step();
+
+    /**
+     * 当前回合所处的阶段，回合之间为 ROLL
+     */
+    TurnPhase getPhase();
+
+    /**
+     * 异步进行一个回合：需要等待玩家选择时立即返回，不占用调用线程
+     * 玩家作出选择后，回合的剩余部分在 executor 上执行，返回的 future 在回合结束时完成；
+     * 同一局在 future 完成前不能开始下一回合。默认实现同步执行 playTurn。
+     *
+     * @param executor 执行回合剩余部分的线程池
+     */
+    default CompletableFuture<Void> playTurnAsync(Executor executor) {
+        playTurn();
+        return CompletableFuture.completedFuture(null);
+    }
 }
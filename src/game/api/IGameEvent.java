@@ -4,6 +4,14 @@ public interface IGameEvent {
 
     String getType();
 
+    /**
+     * 驻留后的事件类型，事件总线据此分发
+     * 自定义事件可以不覆盖，默认按 getType() 的名称查找；内置事件直接返回常量。
+     */
+    default EventType getEventType() {
+        return EventType.of(getType());
+    }
+
     long getTimestamp();
 
     String getDescription();
@@ -15,4 +15,11 @@ public interface IPlayer {
     boolean isActive();
 
     void setActive(boolean active);
+
+    /**
+     * 该玩家的决策提供者，人类玩家返回 null，由用户界面选择操作
+     */
+    default IDecisionProvider getDecisionProvider() {
+        return null;
+    }
 }
@@ -0,0 +1,31 @@
+package game.api;
+
+/**
+ * 每局游戏的随机源
+ * 同一种子总是产生相同的序列；每局一个主随机流，各插件再按名称派生独立的随机流。
+ * 派生流只由本局种子与名称决定，与其他流已经取了多少个数无关，
+ * 因此某个插件多取或少取随机数不会改变骰子与其他插件的结果。
+ * 随机源只应在该局的引擎线程中使用。
+ */
+public interface IRandomSource {
+
+    /**
+     * 返回 [0, bound) 内均匀分布的整数
+     */
+    int nextInt(int bound);
+
+    long nextLong();
+
+    /**
+     * 返回 [0, 1) 内均匀分布的小数
+     */
+    double nextDouble();
+
+    boolean nextBoolean();
+
+    /**
+     * 按名称派生的独立随机流，同名总是返回同一个流
+     * 插件建议使用自身的类名作为名称。
+     */
+    IRandomSource stream(String name);
+}
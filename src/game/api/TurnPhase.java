@@ -0,0 +1,17 @@
+package game.api;
+
+/**
+ * 回合的阶段，引擎每次 step() 推进一个阶段（结算阶段每次处理一个落点）
+ */
+public enum TurnPhase {
+    /** 轮换玩家并掷骰 */
+    ROLL,
+    /** 等待玩家或电脑选择操作 */
+    CHOOSE,
+    /** 执行所选操作 */
+    MOVE,
+    /** 逐个结算方块效果，直到没有新的落点 */
+    RESOLVE,
+    /** 判断额外回合并结束回合 */
+    END
+}
@@ -1,7 +1,11 @@
 package game.engine;
 
+/**
+ * 棋子移动动画的步进间隔
+ * 只影响 UI 回放动画的速度，引擎本身从不等待动画。
+ */
 public class AnimationConfig {
-    private static long moveDelayMs = 100; // 默认延迟100ms
+    private static volatile long moveDelayMs = 100; // 默认每格100ms
 
     public static void setMoveDelay(long delayMs) {
         moveDelayMs = delayMs;
@@ -0,0 +1,210 @@
+package game.engine;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import game.api.GameEvents;
+import game.api.IChessman;
+import plugin.api.IBlock;
+import plugin.api.PathTable;
+
+/**
+ * 方块效果的连锁结算器，由 Board 持有
+ * 棋子每次落点先进入工作队列，效果造成的新落点排到队尾，逐个迭代处理，不在事件中递归。
+ * 一条连锁从队列由空变为非空开始，到队列清空结束：
+ * 同一棋子在一条连锁中第二次落到同一位置即视为循环（如传送→加速→传送），立即停止；
+ * 连锁长度达到规则集的 getMaxBlockEffectDepth() 时同样停止。
+ * 同时统计每回合的连锁长度（触发方块效果的落点数）、最长连锁以及循环与截断次数。
+ */
+public final class BlockEffectResolver {
+    private final GameContext context;
+    private final ArrayDeque<IChessman> pending = new ArrayDeque<>();
+
+    // 当前连锁已处理的落点（棋子与位置），用于循环检测
+    private IChessman[] chainChessmen = new IChessman[8];
+    private int[] chainPositions = new int[8];
+    private int chainLength;
+
+    private int turnChainLength;
+    private int lastTurnChainLength;
+    private int longestChain;
+    private long totalLandings;
+    private int cycles;
+    private int truncated;
+
+    BlockEffectResolver(GameContext context) {
+        this.context = context;
+    }
+
+    /**
+     * 登记一个落点，等待结算
+     * 同一棋子已在队列中时不重复登记（例如起飞同时发布移动与起飞两个事件），结算时按其当前位置处理。
+     */
+    void enqueue(IChessman chessman) {
+        if (!pending.contains(chessman)) {
+            pending.addLast(chessman);
+        }
+    }
+
+    /**
+     * 丢弃尚未结算的落点（载入快照时使用）
+     */
+    void clear() {
+        pending.clear();
+        endChain();
+    }
+
+    /**
+     * 结算队首的一个落点：触发该位置的方块效果
+     *
+     * @return 队列为空时返回 false
+     */
+    boolean resolveNext() {
+        IChessman chessman = pending.pollFirst();
+        if (chessman == null) {
+            return false;
+        }
+
+        int position = chessman.getPosition();
+        if (isRepeated(chessman, position)) {
+            cycles++;
+            stop(chessman, "[Board] 方块效果形成循环，连锁停止！");
+            return true;
+        }
+        if (chainLength >= context.getRuleSetProvider().getMaxBlockEffectDepth()) {
+            truncated++;
+            stop(chessman, "[Board] 以达到最高连锁反应次数，效果停止触发！");
+            return true;
+        }
+
+        try {
+            PathTable path = context.getPathTable();
+            if (path == null) {
+                return true;
+            }
+
+            IBlock block = path.getBlock(position);
+            if (block != null) {
+                if (context.isVerbose()) {
+                    String blockType = block.getClass().getSimpleName();
+                    System.out.println("[DEBUG] 位置" + position + "的方块类型: " + blockType +
+                            " (深度=" + chainLength + ")");
+                }
+                remember(chessman, position);
+                block.onLand(chessman, context);
+            }
+        } finally {
+            if (pending.isEmpty()) {
+                endChain();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 处理完队列中的全部落点
+     */
+    void resolveAll() {
+        while (resolveNext()) {
+            // 逐个处理，直到队列为空
+        }
+    }
+
+    /**
+     * 记入一条查表完成的连锁（见 LandingTable），只更新统计
+     */
+    void record(int landings, boolean cycle, boolean truncated) {
+        totalLandings += landings;
+        turnChainLength += landings;
+        if (turnChainLength > longestChain) {
+            longestChain = turnChainLength;
+        }
+        if (cycle) {
+            cycles++;
+        }
+        if (truncated) {
+            this.truncated++;
+        }
+    }
+
+    /**
+     * 回合结束时由引擎调用，记下本回合的连锁长度
+     */
+    void endTurn() {
+        lastTurnChainLength = turnChainLength;
+        turnChainLength = 0;
+    }
+
+    /**
+     * 上一回合触发方块效果的落点数
+     */
+    public int getLastTurnChainLength() {
+        return lastTurnChainLength;
+    }
+
+    /**
+     * 单回合中最长的连锁长度
+     */
+    public int getLongestChain() {
+        return longestChain;
+    }
+
+    /**
+     * 累计触发方块效果的落点数
+     */
+    public long getTotalLandings() {
+        return totalLandings;
+    }
+
+    /**
+     * 因检测到循环而停止的连锁次数
+     */
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * 因超过最大连锁长度而停止的连锁次数
+     */
+    public int getTruncated() {
+        return truncated;
+    }
+
+    private boolean isRepeated(IChessman chessman, int position) {
+        for (int i = 0; i < chainLength; i++) {
+            if (chainChessmen[i] == chessman && chainPositions[i] == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remember(IChessman chessman, int position) {
+        if (chainLength == chainChessmen.length) {
+            chainChessmen = Arrays.copyOf(chainChessmen, chainLength * 2);
+            chainPositions = Arrays.copyOf(chainPositions, chainLength * 2);
+        }
+        chainChessmen[chainLength] = chessman;
+        chainPositions[chainLength] = position;
+        chainLength++;
+        totalLandings++;
+        turnChainLength++;
+        if (turnChainLength > longestChain) {
+            longestChain = turnChainLength;
+        }
+    }
+
+    private void stop(IChessman chessman, String message) {
+        pending.clear();
+        endChain();
+        context.getEventBus().publish(new GameEvents.BlockEffect(chessman, message));
+        if (context.isVerbose()) {
+            System.err.println(message);
+        }
+    }
+
+    private void endChain() {
+        Arrays.fill(chainChessmen, 0, chainLength, null);
+        chainLength = 0;
+    }
+}
@@ -4,15 +4,23 @@ import java.util.List;
 
 import game.api.*;
 import plugin.api.IMapProvider;
-import plugin.api.Node;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class Board implements IBoard {
-    private final GameContext context = GameContext.getInstance();
-
-    // 用于防止方块效果无限递归
-    private ThreadLocal<Integer> blockEffectDepth = ThreadLocal.withInitial(() -> 0);
+    private final GameContext context;
+    // 位置 -> 棋子索引，棋子移动时增量维护
+    private final OccupancyIndex occupancy = new OccupancyIndex();
+    private boolean indexed = false;
+
+    // 方块效果的连锁结算
+    private final BlockEffectResolver resolver;
+    // 为 true 时落点只入队，由引擎在结算阶段逐个处理
+    private boolean deferred = false;
+    private boolean resolving = false;
+    // 批量模拟时使用的落点结算表，为 null 时总是实时结算
+    private LandingTable landingTable;
 
     @Override
     public boolean inDestination(IMapProvider mapProvider, IChessman chessman, int position) {
@@ -36,6 +44,11 @@ public class Board implements IBoard {
 
     @Override
     public List<IChessman> getChessmenAt(int position) {
+        if (indexed) {
+            return occupancy.get(position);
+        }
+
+        // 棋子不是引擎自带的 Chessman 时无法建立索引，退回逐个扫描
         List<IChessman> result = new ArrayList<>();
         IPlayer[] players = context.getPlayers();
         if (players != null) {
@@ -51,53 +64,77 @@ public class Board implements IBoard {
     }
 
     private void onChessmanMoved(IGameEvent event) {
-        // 已经到达了触发方块效果，也可能下一步也要连锁触发方块效果，因此先检查
-        // 表示已经移动完成到了一个格子的事件。
-        // 步数为0，就重新触发当前方块事件。
-        if (event == null || !(event.getData() instanceof IChessman)) {
+        // 已经到达了触发方块效果，也可能下一步也要连锁触发方块效果，
+        // 因此每个落点都先入队，连锁中产生的新落点排在后面依次处理。
+        IChessman chessman;
+        if (event instanceof GameEvents.ChessmanMoved) {
+            chessman = ((GameEvents.ChessmanMoved) event).getChessman();
+        } else if (event instanceof GameEvents.ChessmanTakeOff) {
+            chessman = ((GameEvents.ChessmanTakeOff) event).getChessman();
+        } else {
             return;
         }
 
-        IChessman chessman = (IChessman) event.getData();
-
-        // 检查递归深度
-        int depth = blockEffectDepth.get();
-        if (depth >= context.getRuleSetProvider().getMaxBlockEffectDepth()) {
-            java.util.Map<String, Object> effectData = new java.util.HashMap<>();
-            effectData.put("chessman", chessman);
-            effectData.put("message", "[Board] 以达到最高连锁反应次数，效果停止触发！");
-            EventBus.getInstance().publish(new GameEvent("BlockEffect", effectData, "方块效果触发"));
-            System.err.println("[Board] 警告：方块效果递归深度过大，停止处理");
+        resolver.enqueue(chessman);
+        if (deferred || resolving) {
             return;
         }
 
+        // 不在引擎的回合阶段中（例如模拟中直接执行操作）：立即处理完整条连锁
+        resolving = true;
         try {
-            blockEffectDepth.set(depth + 1);
-            int position = chessman.getPosition();
-            if (context.getMapProvider() == null) {
-                return;
-            }
-            int[] xy = context.getMapProvider().positionToXY(position);
-            if (xy[0] < 0 || xy[1] < 0) {
-                return;
-            }
-
-            Node node = context.getMapProvider().getMap()[xy[1]][xy[0]];
-            // 连锁事件处理
-            if (node != null && node.getBlock() != null) {
-                String blockType = node.getBlock().getClass().getSimpleName();
-                System.out.println("[DEBUG] 位置" + position + "的方块类型: " + blockType +
-                        " (深度=" + depth + ")");
-                node.getBlock().onLand(chessman, context);
-            }
+            resolver.resolveAll();
         } finally {
-            blockEffectDepth.set(depth);
+            resolving = false;
         }
     }
 
-    public Board() {
-        EventBus.getInstance().subscribe("ChessmanMoved", this::onChessmanMoved);
-        EventBus.getInstance().subscribe("ChessmanTakeOff", this::onChessmanMoved);
+    /**
+     * 设置落点是否延后处理，引擎在移动与结算阶段开启，由结算器逐个处理
+     */
+    void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    /**
+     * 设置落点结算表，之后按点数的移动优先查表完成
+     * 查表移动不发布逐格移动与方块效果事件，只适用于没有界面的批量模拟。
+     * 传入 null（如超长地图不建表）时全部实时结算。
+     */
+    public void setLandingTable(LandingTable landingTable) {
+        this.landingTable = landingTable;
+    }
+
+    /**
+     * 查表完成一次按点数的移动：直接把棋子放到连锁结算后的最终位置
+     *
+     * @return 表中没有该走法（需要实时结算）时返回 false，棋子保持不动
+     */
+    boolean moveByTable(IChessman chessman, int diceValue) {
+        if (landingTable == null || !(chessman instanceof Chessman)) {
+            return false;
+        }
+        int entry = landingTable.lookup(chessman.getOwner().getPlayerId(), chessman.getPosition(), diceValue);
+        if (entry < 0) {
+            return false;
+        }
+        ((Chessman) chessman).moveSilently(LandingTable.finalPosition(entry));
+        resolver.record(LandingTable.landings(entry), LandingTable.isCycle(entry), LandingTable.isTruncated(entry));
+        return true;
+    }
+
+    /**
+     * 本局的方块效果结算器，提供连锁长度等统计
+     */
+    public BlockEffectResolver getBlockEffectResolver() {
+        return resolver;
+    }
+
+    public Board(GameContext context) {
+        this.context = context;
+        this.resolver = new BlockEffectResolver(context);
+        context.getEventBus().subscribe(EventType.CHESSMAN_MOVED, this::onChessmanMoved);
+        context.getEventBus().subscribe(EventType.CHESSMAN_TAKE_OFF, this::onChessmanMoved);
     }
 
     @Override
@@ -111,112 +148,72 @@ public class Board implements IBoard {
             return false;
         }
 
-        int currentPos = chessman.getPosition();
+        int startPos = chessman.getPosition();
         int endPosition = mapProvider.getEndPosition(chessman.getOwner().getPlayerId());
 
-        // 逐格移动，实际上改棋子位置归Chessman管
-        if (steps > 0) {
-            for (int i = 0; i < steps; i++) {
-                int nextPos = currentPos + 1;
-
-                // 检查是否会越界
-                if (nextPos > endPosition) {
-                    // 发布越界事件
-                    java.util.Map<String, Object> overEndData = new java.util.HashMap<>();
-                    overEndData.put("chessman", chessman);
-                    overEndData.put("targetPosition", currentPos + (steps - i));
-                    overEndData.put("endPosition", endPosition);
-                    overEndData.put("overSteps", (currentPos + (steps - i)) - endPosition);
-                    EventBus.getInstance().publish(new GameEvent("ChessmanOverEnd", overEndData,
-                            "棋子越过终点"));
-                    return false; // RuleEngine会处理怎么动，最后直接给出移动结果，不用管动画了
-                }
-
-                boolean isLastStep = (i == steps - 1);
-
-                // 只在最后一步才发布ChessmanMoved事件，中间步骤只发布动画事件
-                if (!isLastStep) {
-                    // 中间步骤：只更新位置和发布动画事件
-                    if (chessman instanceof Chessman) {
-                        Chessman chess = (Chessman) chessman;
-                        int oldPos = chess.getPosition();
-                        // 这里其实是直接修改位置字段，绕过setPosition方法以避免触发事件，因为渲染位置需要用getPosition，防止传参罢了
-                        java.lang.reflect.Field posField;
-                        try {
-                            posField = Chessman.class.getDeclaredField("position");
-                            posField.setAccessible(true);
-                            posField.setInt(chess, nextPos);
-
-                            // 只发布动画事件
-                            java.util.Map<String, Object> moveData = new java.util.HashMap<>();
-                            moveData.put("chessman", chess);
-                            moveData.put("from", oldPos);
-                            moveData.put("to", nextPos);
-                            EventBus.getInstance().publish(new GameEvent("ChessmanMoveEasing", moveData,
-                                    "棋子移动动画"));
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    }
-                } else {
-                    // 最后一步：触发完整的事件（包括方块效果）
-                    chessman.setPosition(nextPos);
-                }
+        // 先算出逐格经过的路径：path[0] 为起点，之后每一项为一步（后退时不低于 0）
+        int count = Math.abs(steps);
+        int[] path = new int[count + 1];
+        path[0] = startPos;
+        int length = 1;
+        boolean overEnd = false;
+        for (int i = 0; i < count; i++) {
+            int nextPos = steps > 0 ? path[length - 1] + 1 : Math.max(0, path[length - 1] - 1);
+            if (steps > 0 && nextPos > endPosition) {
+                overEnd = true;
+                break;
+            }
+            path[length++] = nextPos;
+        }
+        if (length < path.length) {
+            path = Arrays.copyOf(path, length);
+        }
 
-                currentPos = nextPos;
+        // 整段路径只发布一个事件，动画由 UI 按自己的节奏回放，引擎不等待
+        if (length > 1) {
+            context.getEventBus().publish(new GameEvents.ChessmanPathMoved(chessman, path));
+        }
 
-                // UI动画延迟
-                long delay = AnimationConfig.getMoveDelay();
-                if (delay > 0) {
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
+        // 中间步骤静默移动，不触发方块效果；实际上改棋子位置归Chessman管
+        int lastStep = overEnd ? length : length - 1;
+        if (chessman instanceof Chessman) {
+            Chessman chess = (Chessman) chessman;
+            for (int i = 1; i < lastStep; i++) {
+                chess.moveSilently(path[i]);
             }
-        } else if (steps < 0) { // 处理后退
-            for (int i = 0; i < Math.abs(steps); i++) {
-                int nextPos = Math.max(0, currentPos - 1);
-
-                boolean isLastStep = (i == Math.abs(steps) - 1);
-                if (!isLastStep) {
-                    if (chessman instanceof Chessman) {
-                        Chessman chess = (Chessman) chessman;
-                        int oldPos = chess.getPosition();
-                        try {
-                            java.lang.reflect.Field posField = Chessman.class.getDeclaredField("position");
-                            posField.setAccessible(true);
-                            posField.setInt(chess, nextPos);
-
-                            java.util.Map<String, Object> moveData = new java.util.HashMap<>();
-                            moveData.put("chessman", chess);
-                            moveData.put("from", oldPos);
-                            moveData.put("to", nextPos);
-                            EventBus.getInstance().publish(new GameEvent("ChessmanMoveEasing", moveData,
-                                    "棋子移动动画"));
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    }
-                } else {
-                    chessman.setPosition(nextPos);
-                }
+        }
 
-                currentPos = nextPos;
+        if (overEnd) {
+            // 发布越界事件，RuleEngine会处理怎么动，最后直接给出移动结果
+            int targetPosition = startPos + steps;
+            context.getEventBus().publish(new GameEvents.ChessmanOverEnd(chessman, targetPosition,
+                    endPosition, targetPosition - endPosition));
+            return false;
+        }
 
-                long delay = AnimationConfig.getMoveDelay();
-                if (delay > 0) {
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
+        // 最后一步：触发完整的事件（包括方块效果）
+        chessman.setPosition(path[length - 1]);
+        return true;
+    }
+
+    /**
+     * 为本局的全部棋子建立位置索引，由引擎在初始化玩家后调用
+     */
+    public void track(IPlayer[] players) {
+        occupancy.clear();
+        indexed = players != null;
+        if (players == null) {
+            return;
+        }
+        for (IPlayer player : players) {
+            for (IChessman chessman : player.getChessman()) {
+                if (!(chessman instanceof Chessman)) {
+                    indexed = false;
+                    continue;
                 }
+                ((Chessman) chessman).track(occupancy);
             }
         }
-
-        return true;
     }
 
     /**
@@ -0,0 +1,24 @@
+package game.engine;
+
+import game.api.IDecisionProvider;
+
+/**
+ * 电脑玩家
+ * 掷骰后的操作由决策提供者选择，不经过用户界面。
+ */
+public class BotPlayer extends Player {
+    private final IDecisionProvider decisionProvider;
+
+    public BotPlayer(String name, int playerId, int chessmanCount, IDecisionProvider decisionProvider) {
+        super(name, playerId, chessmanCount);
+        if (decisionProvider == null) {
+            throw new IllegalArgumentException("电脑玩家需要决策提供者");
+        }
+        this.decisionProvider = decisionProvider;
+    }
+
+    @Override
+    public IDecisionProvider getDecisionProvider() {
+        return decisionProvider;
+    }
+}
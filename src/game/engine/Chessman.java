@@ -1,12 +1,16 @@
 package game.engine;
 
+import game.api.GameEvents;
 import game.api.IChessman;
+import game.api.IEventBus;
 import game.api.IPlayer;
 
 public class Chessman implements IChessman {
     private int id;
     private IPlayer owner;
     private int position; // 棋子在棋盘上的位置
+    private IEventBus eventBus; // 所在对局的事件总线
+    private OccupancyIndex occupancy; // 所在棋盘的位置索引
 
     public Chessman(int id, IPlayer owner) {
         this.id = id;
@@ -29,14 +33,49 @@ public class Chessman implements IChessman {
         return position;
     }
 
+    void bind(IEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * 登记到棋盘的位置索引，之后的每次位置变化都会同步到索引
+     */
+    void track(OccupancyIndex occupancy) {
+        this.occupancy = occupancy;
+        occupancy.add(this, position);
+    }
+
     public void reset() {
+        moveIndex(-1);
         this.position = -1;
     }
 
+    /**
+     * 引擎内部使用：只更新位置（及位置索引），不发布事件、不触发方块效果
+     * 用于逐格移动中的中间步骤与快照恢复。
+     */
+    void moveSilently(int position) {
+        moveIndex(position);
+        this.position = position;
+    }
+
+    /**
+     * 在修改 position 之前调用，同步更新位置索引
+     */
+    private void moveIndex(int to) {
+        if (occupancy != null) {
+            occupancy.move(this, position, to);
+        }
+    }
+
     @Override
     public void setPosition(int position) {
+        int from = this.position;
+        moveIndex(position);
         this.position = position;
-        EventBus.getInstance().publish(new GameEvent("ChessmanMoved", this,
-                "棋子 " + this.getChessmanId() + " 移动到了位置 " + position));
+        if (eventBus == null) {
+            return;
+        }
+        eventBus.publish(new GameEvents.ChessmanMoved(this, from, position));
     }
 }
\ No newline at end of file
@@ -1,27 +1,70 @@
 package game.engine;
 
-import java.util.Random;
+import plugin.api.IDiceProvider;
+import plugin.api.WeightedDice;
 
 /**
  * Dice - 骰子类
- * 提供随机掷骰子功能
+ * 每局游戏持有一个实例，随机数来自该局随机源派生的骰子专用流，多局并行时互不争用。
+ * 点数由规则集提供的 IDiceProvider 决定，按批预生成到 int 数组中，掷骰时只是读取下一个元素。
  */
 public class Dice {
-    private static final Random random = new Random();
+    private static final IDiceProvider DEFAULT_PROVIDER = WeightedDice.uniform(6);
+    private static final int BUFFER_SIZE = 256;
 
-    public static int roll() {
-        // return 6;
-        return roll(6);
+    private final RandomSource random;
+    private IDiceProvider provider = DEFAULT_PROVIDER;
+    private final int[] buffer = new int[BUFFER_SIZE];
+    private int position = BUFFER_SIZE;
+    // 预生成本批点数之前骰子流的状态，用于回退到恰好已使用的位置
+    private long bufferStartState;
+
+    public Dice(RandomSource random) {
+        this.random = random;
     }
 
-    public static int roll(int sides) {
-        if (sides <= 0) {
-            throw new IllegalArgumentException("骰子面数必须大于0");
+    public int roll() {
+        if (position == BUFFER_SIZE) {
+            bufferStartState = random.getState();
+            provider.fill(buffer, random);
+            position = 0;
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * 更换骰子，null 表示均匀的六面骰子
+     */
+    public void setProvider(IDiceProvider provider) {
+        sync();
+        this.provider = provider != null ? provider : DEFAULT_PROVIDER;
+    }
+
+    public IDiceProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * 丢弃尚未使用的预生成点数，并把骰子流回退到恰好已使用的点数之后
+     * 存档前调用：此后的掷骰结果与不存档时完全相同，读档后也能接着产生同样的点数。
+     */
+    public void sync() {
+        if (position == BUFFER_SIZE) {
+            return;
+        }
+        int used = position;
+        random.setState(bufferStartState);
+        for (int i = 0; i < used; i++) {
+            provider.roll(random);
         }
-        return random.nextInt(sides) + 1;
+        position = BUFFER_SIZE;
     }
 
-    public static void setSeed(long seed) {
-        random.setSeed(seed);
+    /**
+     * 丢弃尚未使用的预生成点数，不回退骰子流
+     * 骰子流被重新播种或从存档恢复后调用。
+     */
+    public void discard() {
+        position = BUFFER_SIZE;
     }
-}
\ No newline at end of file
+}
@@ -1,88 +1,363 @@
 package game.engine;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import game.api.EventType;
 import game.api.IGameEvent;
 import game.api.IEventBus;
 
+/**
+ * 事件总线，每局游戏各持有一个实例（由 GameContext 创建）
+ * 订阅句柄按事件类型编号存放在数组中，订阅时整体复制（写时复制），
+ * 发布时只做一次数组下标访问与顺序遍历，不分配任何对象。
+ * 退订只把句柄标记为失效，失效句柄超过一半时才压缩数组，均摊 O(1)。
+ * SYNC 通道的监听者在发布线程上执行；RENDER 与 BACKGROUND 通道各有一个
+ * 有界环形队列和一个守护线程，首次有监听者订阅该通道时才创建。
+ */
 public final class EventBus implements IEventBus {
-    private static final EventBus INSTANCE = new EventBus();
-    private final Map<String, List<IEventListener>> eventTypeListeners = new ConcurrentHashMap<>();
+    private static final Handle[] NO_HANDLES = new Handle[0];
+    private static final int RENDER_QUEUE_CAPACITY = 1024;
+    private static final int BACKGROUND_QUEUE_CAPACITY = 4096;
 
-    private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+    // 下标为 EventType.id()，元素为该类型的订阅句柄快照
+    private volatile Handle[][] handlesByType = new Handle[EventType.count()][];
+    // 各类型快照中已失效句柄的数量，仅在持有锁时读写
+    private int[] inactiveCounts = new int[EventType.count()];
+    // 下标为 Lane.ordinal()，SYNC 位置始终为空
+    private final LaneWorker[] workers = new LaneWorker[Lane.values().length];
 
-    private EventBus() {
+    public EventBus() {
     }
 
-    public static EventBus getInstance() {
-        return INSTANCE;
+    @Override
+    public Subscription subscribe(String eventType, IEventListener listener) {
+        return subscribe(EventType.of(eventType), listener, Lane.SYNC);
     }
 
     @Override
-    public void subscribe(String eventType, IEventListener listener) {
-        String subscriberClass = getSubscriberClassName();
-        String subscriptionKey = subscriberClass + ":" + eventType;
-        if (subscriptions.contains(subscriptionKey)) {
-            // System.out.println("[EventBus] 跳过重复订阅: " + eventType + " (订阅者: " +
-            // subscriberClass + ")");
-            return;
+    public Subscription subscribe(EventType eventType, IEventListener listener) {
+        return subscribe(eventType, listener, Lane.SYNC);
+    }
+
+    @Override
+    public synchronized Subscription subscribe(EventType eventType, IEventListener listener, Lane lane) {
+        if (eventType == null || listener == null || lane == null) {
+            throw new IllegalArgumentException("事件类型、监听者与通道不能为空");
         }
 
-        List<IEventListener> listeners = eventTypeListeners.computeIfAbsent(eventType,
-                k -> new CopyOnWriteArrayList<>());
-        listeners.add(listener);
-        subscriptions.add(subscriptionKey);
+        Handle[][] table = handlesByType;
+        int id = eventType.id();
+        Handle[] handles = id < table.length && table[id] != null ? table[id] : NO_HANDLES;
+        for (Handle handle : handles) {
+            if (handle.active && handle.listener == listener) {
+                Lane registered = handle.worker != null ? handle.worker.lane : Lane.SYNC;
+                if (registered != lane) {
+                    throw new IllegalArgumentException("监听者已在 " + registered + " 通道订阅了 " + eventType
+                            + "，不能再订阅到 " + lane + " 通道");
+                }
+                return handle; // 同一监听者重复订阅，返回已有句柄
+            }
+        }
 
-        // System.out.println("[EventBus] 订阅事件: " + eventType + " (订阅者: " +
-        // subscriberClass + ")");
+        if (id >= table.length) {
+            int size = Math.max(id + 1, EventType.count());
+            table = Arrays.copyOf(table, size);
+            inactiveCounts = Arrays.copyOf(inactiveCounts, size);
+        } else {
+            table = table.clone();
+        }
+        Handle handle = new Handle(this, eventType, listener, lane == Lane.SYNC ? null : workerFor(lane));
+        handles = Arrays.copyOf(handles, handles.length + 1);
+        handles[handles.length - 1] = handle;
+        table[id] = handles;
+        handlesByType = table;
+        return handle;
     }
 
-    private String getSubscriberClassName() {
-        try {
-            StackTraceElement[] stack = Thread.currentThread().getStackTrace();
-            if (stack.length > 3) {
-                String fullClassName = stack[3].getClassName();
-                return fullClassName.substring(fullClassName.lastIndexOf('.') + 1);
-            }
-        } catch (Exception e) {
-
+    private LaneWorker workerFor(Lane lane) {
+        LaneWorker worker = workers[lane.ordinal()];
+        if (worker == null) {
+            worker = new LaneWorker(lane,
+                    lane == Lane.RENDER ? RENDER_QUEUE_CAPACITY : BACKGROUND_QUEUE_CAPACITY);
+            workers[lane.ordinal()] = worker;
         }
-        return "Unknown";
+        return worker;
     }
 
     @Override
+    @Deprecated
     public void unsubscribe(String eventType, IEventListener listener) {
-        String subscriberClass = getSubscriberClassName();
-        String subscriptionKey = subscriberClass + ":" + eventType;
-
-        List<IEventListener> listeners = eventTypeListeners.get(eventType);
-        if (listeners != null) {
-            listeners.remove(listener);
-            subscriptions.remove(subscriptionKey);
-            if (listeners.isEmpty()) {
-                eventTypeListeners.remove(eventType);
+        unsubscribe(EventType.of(eventType), listener);
+    }
+
+    @Override
+    @Deprecated
+    public synchronized void unsubscribe(EventType eventType, IEventListener listener) {
+        Handle[][] table = handlesByType;
+        int id = eventType.id();
+        if (id >= table.length || table[id] == null) {
+            return;
+        }
+        for (Handle handle : table[id]) {
+            if (handle.active && handle.listener == listener) {
+                remove(handle);
+                return;
             }
         }
     }
 
+    private synchronized void remove(Handle handle) {
+        if (!handle.active) {
+            return;
+        }
+        handle.active = false;
+
+        int id = handle.eventType.id();
+        Handle[][] table = handlesByType;
+        if (id >= table.length || table[id] == null) {
+            return; // 已被 clear() 清除
+        }
+        Handle[] handles = table[id];
+        if (++inactiveCounts[id] * 2 < handles.length) {
+            return;
+        }
+
+        // 失效句柄过半，压缩一次
+        Handle[] compacted = new Handle[handles.length - inactiveCounts[id]];
+        int n = 0;
+        for (Handle h : handles) {
+            if (h.active) {
+                compacted[n++] = h;
+            }
+        }
+        table = table.clone();
+        table[id] = n == 0 ? null : compacted;
+        inactiveCounts[id] = 0;
+        handlesByType = table;
+    }
+
     @Override
     public void publish(IGameEvent event) {
-        String eventType = event.getType();
-        List<IEventListener> listeners = eventTypeListeners.getOrDefault(eventType, Collections.emptyList());
-        for (IEventListener listener : listeners) {
-            try {
-                listener.onEvent(event);
-            } catch (Exception e) {
-                System.err.println("[EventBus] 处理事件 " + eventType + " 时出错: " + e.getMessage());
-                e.printStackTrace();
+        Handle[][] table = handlesByType;
+        int id = event.getEventType().id();
+        if (id >= table.length) {
+            return;
+        }
+        Handle[] handles = table[id];
+        if (handles == null) {
+            return;
+        }
+        for (Handle handle : handles) {
+            if (!handle.active) {
+                continue;
+            }
+            if (handle.worker == null) {
+                deliver(event, handle);
+            } else {
+                handle.worker.enqueue(event, handle);
+            }
+        }
+    }
+
+    private static void deliver(IGameEvent event, Handle handle) {
+        try {
+            handle.listener.onEvent(event);
+        } catch (Exception e) {
+            System.err.println("[EventBus] 处理事件 " + event.getType() + " 时出错: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void awaitIdle() {
+        LaneWorker[] snapshot;
+        synchronized (this) {
+            snapshot = workers.clone();
+        }
+        for (LaneWorker worker : snapshot) {
+            if (worker != null) {
+                worker.awaitIdle();
             }
         }
     }
 
     @Override
-    public void clear() {
-        eventTypeListeners.clear();
-        subscriptions.clear();
+    public synchronized void clear() {
+        for (Handle[] handles : handlesByType) {
+            if (handles != null) {
+                for (Handle handle : handles) {
+                    handle.active = false;
+                }
+            }
+        }
+        handlesByType = new Handle[EventType.count()][];
+        inactiveCounts = new int[EventType.count()];
+        for (int i = 0; i < workers.length; i++) {
+            if (workers[i] != null) {
+                workers[i].stop();
+                workers[i] = null;
+            }
+        }
+    }
+
+    private static final class Handle implements Subscription {
+        private final EventBus bus;
+        private final EventType eventType;
+        private final IEventListener listener;
+        private final LaneWorker worker; // SYNC 通道为 null
+        private volatile boolean active = true;
+
+        Handle(EventBus bus, EventType eventType, IEventListener listener, LaneWorker worker) {
+            this.bus = bus;
+            this.eventType = eventType;
+            this.listener = listener;
+            this.worker = worker;
+        }
+
+        @Override
+        public EventType getEventType() {
+            return eventType;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public void unsubscribe() {
+            bus.remove(this);
+        }
+    }
+
+    /**
+     * 异步通道：预分配的环形队列（事件与句柄两个并行数组）加一个守护线程
+     * 入队不分配对象；RENDER 队列满时覆盖最旧的一项，BACKGROUND 队列满时发布方等待。
+     */
+    private static final class LaneWorker implements Runnable {
+        private final Lane lane;
+        private final IGameEvent[] events;
+        private final Handle[] handles;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Condition idle = lock.newCondition();
+        private final Thread thread;
+        private int head;
+        private int size;
+        private boolean busy;
+        private boolean stopped;
+        private long dropped;
+
+        LaneWorker(Lane lane, int capacity) {
+            this.lane = lane;
+            this.events = new IGameEvent[capacity];
+            this.handles = new Handle[capacity];
+            this.thread = new Thread(this, "EventBus-" + lane);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        void enqueue(IGameEvent event, Handle handle) {
+            lock.lock();
+            try {
+                while (size == events.length && !stopped) {
+                    // 通道线程自己发布到本通道时不能等待自己，按丢弃处理
+                    if (lane == Lane.RENDER || Thread.currentThread() == thread) {
+                        poll();
+                        dropped++;
+                    } else {
+                        notFull.await();
+                    }
+                }
+                if (stopped) {
+                    return;
+                }
+                int tail = (head + size) % events.length;
+                events[tail] = event;
+                handles[tail] = handle;
+                size++;
+                notEmpty.signal();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 调用方持有锁且 size > 0；取出队首并返回其句柄，需要事件时先读取 events[head]
+        private Handle poll() {
+            Handle handle = handles[head];
+            events[head] = null;
+            handles[head] = null;
+            head = (head + 1) % events.length;
+            size--;
+            return handle;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                IGameEvent event;
+                Handle handle;
+                lock.lock();
+                try {
+                    while (size == 0 && !stopped) {
+                        busy = false;
+                        idle.signalAll();
+                        notEmpty.await();
+                    }
+                    if (stopped) {
+                        busy = false;
+                        idle.signalAll();
+                        return;
+                    }
+                    event = events[head];
+                    handle = poll();
+                    busy = true;
+                    notFull.signal();
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+
+                if (handle.active) {
+                    deliver(event, handle);
+                }
+            }
+        }
+
+        void awaitIdle() {
+            if (Thread.currentThread() == thread) {
+                return;
+            }
+            lock.lock();
+            try {
+                while ((size > 0 || busy) && !stopped) {
+                    idle.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void stop() {
+            lock.lock();
+            try {
+                stopped = true;
+                if (dropped > 0) {
+                    System.err.println("[EventBus] " + lane + " 通道因队列已满丢弃了 " + dropped + " 个事件");
+                }
+                notEmpty.signalAll();
+                notFull.signalAll();
+                idle.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
     }
-}
\ No newline at end of file
+}
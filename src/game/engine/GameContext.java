@@ -3,24 +3,32 @@ package game.engine;
 import game.api.*;
 import plugin.api.IMapProvider;
 import plugin.api.IRuleSetProvider;
+import plugin.api.PathTable;
 import ui.api.IUserInterface;
 import game.api.IGameContext;
 
+import java.util.Random;
+
+/**
+ * 单局游戏的上下文：一局游戏对应一个上下文、一个事件总线和一份游戏状态，
+ * 同一进程内可同时存在任意多局互不干扰的游戏
+ */
 public final class GameContext implements IGameContext {
-    private static final GameContext INSTANCE = new GameContext();
     public final GameState state = new GameState();
     private IMapProvider mapProvider;
+    private PathTable pathTable; // 设置地图时编译一次，整局复用
     private IRuleSetProvider ruleSetProvider;
     private IUserInterface userInterface;
     private IPlayer[] players;
     private IBoard board;
-    private IEventBus eventBus = EventBus.getInstance();
-
-    private GameContext() {
-    }
+    private final IEventBus eventBus = new EventBus();
+    private boolean verbose = true; // 批量模拟时关闭调试输出
+    private final RandomSource randomSource = new RandomSource(); // 本局私有随机源，状态可存档
+    private final Random random = randomSource.asRandom();
+    private final Dice dice = new Dice(randomSource.stream("dice"));
+    private GameJournal journal; // 录制或回放中的录像，未录制时为 null
 
-    public static GameContext getInstance() {
-        return INSTANCE;
+    public GameContext() {
     }
 
     @Override
@@ -30,7 +38,21 @@ public final class GameContext implements IGameContext {
 
     @Override
     public void setMapProvider(IMapProvider mapProvider) {
+        setMapProvider(mapProvider, mapProvider != null ? mapProvider.getPathTable() : null);
+    }
+
+    /**
+     * 设置地图并直接使用已编译的路径表
+     * 多局共用同一张地图时（批量模拟、搜索沙盒、渲染副本）传入已有的路径表，避免逐局重新编译。
+     */
+    public void setMapProvider(IMapProvider mapProvider, PathTable pathTable) {
         this.mapProvider = mapProvider;
+        this.pathTable = pathTable;
+    }
+
+    @Override
+    public PathTable getPathTable() {
+        return pathTable;
     }
 
     @Override
@@ -41,6 +63,7 @@ public final class GameContext implements IGameContext {
     @Override
     public void setRuleSetProvider(IRuleSetProvider ruleSetProvider) {
         this.ruleSetProvider = ruleSetProvider;
+        dice.setProvider(ruleSetProvider != null ? ruleSetProvider.getDiceProvider() : null);
     }
 
     @Override
@@ -98,6 +121,42 @@ public final class GameContext implements IGameContext {
         return state.getCurrentDiceValue();
     }
 
+    @Override
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    @Override
+    public Random getRandom() {
+        return random;
+    }
+
+    @Override
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    public Dice getDice() {
+        return dice;
+    }
+
+    public void setSeed(long seed) {
+        randomSource.setSeed(seed);
+        dice.discard();
+    }
+
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
     @Override
     public void reset() {
         state.reset();
@@ -106,6 +165,7 @@ public final class GameContext implements IGameContext {
     @Override
     public void clear() {
         this.mapProvider = null;
+        this.pathTable = null;
         this.ruleSetProvider = null;
         this.userInterface = null;
         this.players = null;
@@ -3,16 +3,52 @@ package game.engine;
 import game.api.*;
 import plugin.api.IRuleSetProvider;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import ui.api.IUserInterface;
 
 public class GameEngine implements IGameEngine {
-    private final GameContext context = GameContext.getInstance();
-    private final IEventBus eventBus = EventBus.getInstance();
+    private final GameContext context;
+    private final IEventBus eventBus;
     private boolean mapGrantExtraTurn = false;
-    @SuppressWarnings("unused")
     private RuleEngine ruleEngine;
+    // 回合状态机：当前阶段与本回合掷骰后的待执行操作
+    private TurnPhase phase = TurnPhase.ROLL;
+    private Turn turn;
+    // 正在等待玩家选择的异步回合
+    private CompletableFuture<Void> pendingTurn;
+
+    public GameEngine(GameContext context) {
+        this.context = context;
+        this.eventBus = context.getEventBus();
+        // 引擎自身的监听者只在构造时订阅一次，重新初始化不会重复登记
+        eventBus.subscribe(EventType.END_TURN, this::onEndTurn);
+        eventBus.subscribe(EventType.GRANT_NEW_TURN, this::onMapGrantExtraTurn);
+    }
+
+    public GameContext getContext() {
+        return context;
+    }
+
+    public RuleEngine getRuleEngine() {
+        return ruleEngine;
+    }
+
+    /**
+     * 保存当前局面为紧凑快照
+     */
+    public GameSnapshot snapshot() {
+        return GameSnapshot.of(context);
+    }
+
+    /**
+     * 载入快照中的局面（静默，不触发事件与方块效果）
+     */
+    public void restore(GameSnapshot snapshot) {
+        snapshot.restore(context);
+        this.mapGrantExtraTurn = false;
+        resetTurn();
+    }
 
     public void setRuleSetProvider(IRuleSetProvider ruleSetProvider) {
         context.setRuleSetProvider(ruleSetProvider);
@@ -40,19 +76,30 @@ public class GameEngine implements IGameEngine {
         IBoard board = context.getBoard();
         if (board != null && board instanceof Board) {
             ((Board) board).reset();
-            System.out.println("[INFO] 已重置棋盘状态");
+            if (context.isVerbose()) {
+                System.out.println("[INFO] 已重置棋盘状态");
+            }
         }
 
         context.setPlayers(players.toArray(new IPlayer[0]));
+        for (IPlayer player : players) {
+            if (player instanceof Player) {
+                ((Player) player).bind(eventBus);
+            }
+        }
+        if (board instanceof Board) {
+            ((Board) board).track(context.getPlayers());
+        }
 
         context.reset();
+        resetTurn();
 
-        this.ruleEngine = new RuleEngine();
-
-        eventBus.subscribe("EndTurn", this::onEndTurn);
-        eventBus.subscribe("GrantNewTurn", this::onMapGrantExtraTurn);
+        if (this.ruleEngine != null) {
+            this.ruleEngine.dispose();
+        }
+        this.ruleEngine = new RuleEngine(context);
 
-        eventBus.publish(new GameEvent("GameInitialized", players, "游戏初始化完成"));
+        eventBus.publish(new GameEvent(EventType.GAME_INITIALIZED, players, "游戏初始化完成"));
     }
 
     private void onMapGrantExtraTurn(IGameEvent event) {
@@ -68,9 +115,11 @@ public class GameEngine implements IGameEngine {
 
         context.state.setRunning(true);
 
-        eventBus.publish(new GameEvent("GameStarted", null, "游戏开始"));
+        eventBus.publish(new GameEvent(EventType.GAME_STARTED, null, "游戏开始"));
 
-        System.out.println("游戏开始！");
+        if (context.isVerbose()) {
+            System.out.println("游戏开始！");
+        }
     }
 
     @Override
@@ -81,7 +130,7 @@ public class GameEngine implements IGameEngine {
 
         context.state.setRunning(false);
 
-        eventBus.publish(new GameEvent("GameStopped", null, "游戏停止"));
+        eventBus.publish(new GameEvent(EventType.GAME_STOPPED, null, "游戏停止"));
     }
 
     @Override
@@ -92,7 +141,7 @@ public class GameEngine implements IGameEngine {
 
         context.state.setPaused(true);
 
-        eventBus.publish(new GameEvent("GamePaused", null, "游戏暂停"));
+        eventBus.publish(new GameEvent(EventType.GAME_PAUSED, null, "游戏暂停"));
 
         System.out.println("游戏已暂停");
     }
@@ -105,27 +154,160 @@ public class GameEngine implements IGameEngine {
 
         context.state.setPaused(false);
 
-        eventBus.publish(new GameEvent("GameResumed", null, "游戏恢复"));
+        eventBus.publish(new GameEvent(EventType.GAME_RESUMED, null, "游戏恢复"));
 
     }
 
     @Override
     public void playTurn() {
-        if (!context.state.isRunning() || context.state.isPaused() || context.state.isGameOver()) {
+        if (phase == TurnPhase.ROLL && !canPlay()) {
             return;
         }
 
-        turnStart();
+        do {
+            if (phase == TurnPhase.CHOOSE) {
+                turn.choice.join();
+            }
+            if (!step()) {
+                return;
+            }
+        } while (phase != TurnPhase.ROLL);
+    }
+
+    @Override
+    public CompletableFuture<Void> playTurnAsync(Executor executor) {
+        if (pendingTurn != null && !pendingTurn.isDone()) {
+            return pendingTurn;
+        }
+        if (phase == TurnPhase.ROLL && !canPlay()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        pendingTurn = advance(executor);
+        return pendingTurn;
+    }
+
+    /**
+     * 连续推进到回合结束；需要等待玩家选择时挂起，选择完成后在 executor 上继续
+     */
+    private CompletableFuture<Void> advance(Executor executor) {
+        while (true) {
+            if (phase == TurnPhase.CHOOSE && !turn.choice.isDone()) {
+                return turn.choice.thenComposeAsync(choice -> advance(executor), executor);
+            }
+            if (!step() || phase == TurnPhase.ROLL) {
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+    }
+
+    @Override
+    public boolean step() {
+        if (!context.state.isRunning() || context.state.isPaused()) {
+            return false;
+        }
+
+        switch (phase) {
+            case ROLL:
+                if (context.state.isGameOver()) {
+                    return false;
+                }
+                turn = turnStart();
+                phase = turn != null ? TurnPhase.CHOOSE : TurnPhase.END;
+                return true;
+            case CHOOSE:
+                if (!turn.choice.isDone()) {
+                    return false;
+                }
+                phase = TurnPhase.MOVE;
+                return true;
+            case MOVE:
+                setDeferred(true);
+                ruleEngine.applyAction(turn.player, turn.diceValue, turn.options, turn.choice.join());
+                phase = TurnPhase.RESOLVE;
+                return true;
+            case RESOLVE:
+                // 每步处理一个落点，连锁再长也不会加深调用栈
+                BlockEffectResolver resolver = resolver();
+                if (resolver == null || !resolver.resolveNext()) {
+                    setDeferred(false);
+                    phase = TurnPhase.END;
+                }
+                return true;
+            case END:
+            default:
+                turn = null;
+                phase = TurnPhase.ROLL;
+                reportChain();
+                endTurn();
+                return true;
+        }
+    }
+
+    @Override
+    public TurnPhase getPhase() {
+        return phase;
+    }
+
+    private boolean canPlay() {
+        return context.state.isRunning() && !context.state.isPaused() && !context.state.isGameOver();
+    }
+
+    private void setDeferred(boolean deferred) {
+        IBoard board = context.getBoard();
+        if (board instanceof Board) {
+            ((Board) board).setDeferred(deferred);
+        }
+    }
+
+    /**
+     * 回到回合之间的状态，丢弃进行到一半的回合
+     */
+    private void resetTurn() {
+        turn = null;
+        phase = TurnPhase.ROLL;
+        setDeferred(false);
+        BlockEffectResolver resolver = resolver();
+        if (resolver != null) {
+            resolver.clear();
+        }
+    }
 
-        Map<String, Object> endTurnData = new HashMap<>();
-        endTurnData.put("diceValue", context.state.getCurrentDiceValue());
-        eventBus.publish(new GameEvent("EndTurn", endTurnData, "回合结束信号"));
+    private BlockEffectResolver resolver() {
+        IBoard board = context.getBoard();
+        return board instanceof Board ? ((Board) board).getBlockEffectResolver() : null;
     }
 
-    private void turnStart() {
+    /**
+     * 记下本回合的方块连锁长度，调试模式下输出
+     */
+    private void reportChain() {
+        BlockEffectResolver resolver = resolver();
+        if (resolver == null) {
+            return;
+        }
+        resolver.endTurn();
+        if (context.isVerbose() && resolver.getLastTurnChainLength() > 1) {
+            System.out.println("[DEBUG] 本回合方块连锁长度: " + resolver.getLastTurnChainLength());
+        }
+    }
+
+    /**
+     * 结束当前回合：发布回合结束信号，由引擎判断是否获得额外回合
+     */
+    void endTurn() {
+        eventBus.publish(new GameEvents.EndTurn(context.state.getCurrentDiceValue()));
+    }
+
+    /**
+     * 开始回合：轮换玩家、掷骰，并向规则引擎请求本次要执行的操作
+     *
+     * @return 本回合的待执行操作，没有玩家时为 null
+     */
+    private Turn turnStart() {
         IPlayer[] players = context.getPlayers();
         if (players == null || players.length == 0) {
-            return;
+            return null;
         }
 
         if (!context.state.hasExtraTurn()) {
@@ -142,18 +324,20 @@ public class GameEngine implements IGameEngine {
         IPlayer currentPlayer = players[context.state.getCurrentPlayerIndex()];
         context.state.setCurrentPlayer(currentPlayer);
 
-        eventBus.publish(new GameEvent("TurnStarted", currentPlayer,
-                "玩家 " + currentPlayer.getName() + " 的回合开始"));
+        eventBus.publish(new GameEvents.TurnStarted(currentPlayer));
 
-        int diceValue = Dice.roll();
+        int diceValue = context.getDice().roll();
+        GameJournal journal = context.getJournal();
+        if (journal != null) {
+            diceValue = journal.dice(diceValue);
+        }
         context.state.setCurrentDiceValue(diceValue);
 
-        Map<String, Object> diceData = new HashMap<>();
-        diceData.put("player", currentPlayer);
-        diceData.put("diceValue", diceValue);
+        eventBus.publish(new GameEvents.DiceRolled(currentPlayer, diceValue));
 
-        eventBus.publish(new GameEvent("DiceRolled", diceData,
-                "玩家 " + currentPlayer.getName() + " 掷出 " + diceValue + " 点"));
+        RuleEngine.ActionOptions options = ruleEngine.analyzeActions(currentPlayer, diceValue);
+        return new Turn(currentPlayer, diceValue, options,
+                ruleEngine.requestAction(currentPlayer, diceValue, options));
     }
 
     private void onEndTurn(IGameEvent event) {
@@ -162,10 +346,8 @@ public class GameEngine implements IGameEngine {
             return;
         }
 
-        if (event.getData() instanceof Map<?, ?>) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> eventData = (Map<String, Object>) event.getData();
-            int diceValue = (int) eventData.get("diceValue");
+        if (event instanceof GameEvents.EndTurn) {
+            int diceValue = ((GameEvents.EndTurn) event).getDiceValue();
             IRuleSetProvider ruleSetProvider = context.getRuleSetProvider();
             if ((ruleSetProvider != null && ruleSetProvider.shouldGrantExtraTurn(diceValue))
                     || this.mapGrantExtraTurn) {
@@ -175,13 +357,24 @@ public class GameEngine implements IGameEngine {
 
         }
 
-        Map<String, Object> turnEndData = new HashMap<>();
-        turnEndData.put("player", currentPlayer);
-        turnEndData.put("diceValue", context.state.getCurrentDiceValue());
-        turnEndData.put("hasExtraTurn", context.state.hasExtraTurn());
+        eventBus.publish(new GameEvents.TurnEnded(currentPlayer, context.state.getCurrentDiceValue(),
+                context.state.hasExtraTurn()));
+    }
 
-        eventBus.publish(new GameEvent("TurnEnded", turnEndData,
-                "玩家 " + currentPlayer.getName() + " 的回合结束" +
-                        (context.state.hasExtraTurn() ? "（获得额外回合）" : "")));
+    /**
+     * 本回合掷骰之后的状态：玩家、点数、可选操作与选择结果
+     */
+    private static final class Turn {
+        final IPlayer player;
+        final int diceValue;
+        final RuleEngine.ActionOptions options;
+        final CompletableFuture<Integer> choice;
+
+        Turn(IPlayer player, int diceValue, RuleEngine.ActionOptions options, CompletableFuture<Integer> choice) {
+            this.player = player;
+            this.diceValue = diceValue;
+            this.options = options;
+            this.choice = choice;
+        }
     }
 }
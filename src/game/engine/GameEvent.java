@@ -1,11 +1,15 @@
 package game.engine;
 
-import java.time.Instant;
+import game.api.EventType;
 import game.api.IGameEvent;
 
+/**
+ * 通用事件：数据以任意对象承载
+ * 每回合都会发布的内置事件改用 game.api.GameEvents 中的类型化事件。
+ */
 public final class GameEvent implements IGameEvent {
-    private final String type;
-    private final long timestamp = Instant.now().toEpochMilli();
+    private final EventType type;
+    private final long timestamp = System.currentTimeMillis();
     private final String description;
     private final Object payload;
 
@@ -14,6 +18,10 @@ public final class GameEvent implements IGameEvent {
     }
 
     public GameEvent(String type, Object payload, String description) {
+        this(EventType.of(type), payload, description);
+    }
+
+    public GameEvent(EventType type, Object payload, String description) {
         this.type = type;
         this.payload = payload;
         this.description = description;
@@ -21,6 +29,11 @@ public final class GameEvent implements IGameEvent {
 
     @Override
     public String getType() {
+        return type.name();
+    }
+
+    @Override
+    public EventType getEventType() {
         return type;
     }
 
@@ -39,4 +52,4 @@ public final class GameEvent implements IGameEvent {
     public <T> T getData() {
         return (T) payload;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+package game.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 对局录像：只追加的二进制日志，记录每次掷骰结果与每次操作选择
+ * 录像开头是文件头（随机种子、地图种子、地图与规则集名称、玩家信息），
+ * 其后每条记录 3 字节：1 字节类型 + 2 字节数值。
+ * 写入通过内存映射的 FileChannel 完成，每次映射 REGION_SIZE 字节，写满后顺延映射下一段；
+ * 未写入的部分保持为 0，读到类型 0 即表示录像结束，进程中途退出时已写入的记录仍然有效。
+ * 回放时骰子仍照常投掷以推进随机源，但使用录像中的点数，并统计与录像不一致的次数。
+ */
+public final class GameJournal implements Closeable {
+    private static final int MAGIC = 0x41434A52; // "ACJR"
+    private static final short VERSION = 1;
+    private static final int REGION_SIZE = 1 << 16;
+    private static final int RECORD_SIZE = 3;
+
+    private static final byte END = 0;
+    private static final byte DICE = 1;
+    private static final byte CHOICE = 2;
+
+    private final Header header;
+    private final boolean replaying;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long regionStart;
+    private int diceCount;
+    private int choiceCount;
+    private int mismatches;
+
+    private GameJournal(Header header, boolean replaying, FileChannel channel, MappedByteBuffer buffer) {
+        this.header = header;
+        this.replaying = replaying;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 新建录像文件并写入文件头（已存在的文件会被覆盖）
+     */
+    public static GameJournal record(Path path, Header header) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+        header.write(buffer);
+        return new GameJournal(header, false, channel, buffer);
+    }
+
+    /**
+     * 打开录像文件用于回放
+     */
+    public static GameJournal replay(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        Header header = Header.read(buffer);
+        return new GameJournal(header, true, channel, buffer);
+    }
+
+    public Header getHeader() {
+        return header;
+    }
+
+    public boolean isReplaying() {
+        return replaying;
+    }
+
+    /**
+     * 录像中是否还有未回放的记录
+     */
+    public boolean hasMore() {
+        return replaying && buffer.remaining() >= RECORD_SIZE && buffer.get(buffer.position()) != END;
+    }
+
+    /**
+     * 掷骰：录制时记下点数并原样返回，回放时返回录像中的点数
+     *
+     * @param rolled 骰子本次实际掷出的点数
+     */
+    public int dice(int rolled) {
+        diceCount++;
+        if (!replaying) {
+            append(DICE, rolled);
+            return rolled;
+        }
+        int recorded = next(DICE);
+        if (recorded != rolled) {
+            mismatches++;
+        }
+        return recorded;
+    }
+
+    /**
+     * 录制一次操作选择
+     */
+    public void recordChoice(int choice) {
+        choiceCount++;
+        append(CHOICE, choice);
+    }
+
+    /**
+     * 回放一次操作选择
+     */
+    public int nextChoice() {
+        choiceCount++;
+        return next(CHOICE);
+    }
+
+    public int getDiceCount() {
+        return diceCount;
+    }
+
+    public int getChoiceCount() {
+        return choiceCount;
+    }
+
+    /**
+     * 回放时骰子实际点数与录像不一致的次数，不为 0 说明随机源或规则与录制时不同
+     */
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    private void append(byte type, int value) {
+        if (replaying) {
+            throw new IllegalStateException("回放中的录像不能写入");
+        }
+        if (buffer.remaining() < RECORD_SIZE + 1) {
+            // 保留至少 1 字节的 0 作为结束标记，写满后映射下一段
+            regionStart += buffer.position();
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION_SIZE);
+            } catch (IOException e) {
+                throw new IllegalStateException("无法扩展录像文件: " + e.getMessage(), e);
+            }
+        }
+        buffer.put(type).putShort((short) value);
+    }
+
+    private int next(byte expected) {
+        if (!hasMore()) {
+            return -1;
+        }
+        byte type = buffer.get();
+        short value = buffer.getShort();
+        if (type != expected) {
+            throw new IllegalStateException("录像与对局进程不一致：期望记录类型 " + expected + "，实际为 " + type);
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!replaying) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    /**
+     * 录像文件头：还原对局所需的全部初始条件
+     */
+    public static final class Header {
+        private final long seed;
+        private final String mapName;
+        private final long mapSeed;
+        private final String ruleSetName;
+        private final int chessmanCount;
+        private final String[] playerNames;
+
+        public Header(long seed, String mapName, long mapSeed, String ruleSetName, int chessmanCount,
+                String[] playerNames) {
+            this.seed = seed;
+            this.mapName = mapName;
+            this.mapSeed = mapSeed;
+            this.ruleSetName = ruleSetName;
+            this.chessmanCount = chessmanCount;
+            this.playerNames = playerNames;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public String getMapName() {
+            return mapName;
+        }
+
+        public long getMapSeed() {
+            return mapSeed;
+        }
+
+        public String getRuleSetName() {
+            return ruleSetName;
+        }
+
+        public int getChessmanCount() {
+            return chessmanCount;
+        }
+
+        public String[] getPlayerNames() {
+            return playerNames;
+        }
+
+        void write(ByteBuffer out) {
+            out.putInt(MAGIC).putShort(VERSION);
+            out.putLong(seed);
+            putString(out, mapName);
+            out.putLong(mapSeed);
+            putString(out, ruleSetName);
+            out.putShort((short) chessmanCount);
+            out.putShort((short) playerNames.length);
+            for (String name : playerNames) {
+                putString(out, name);
+            }
+        }
+
+        static Header read(ByteBuffer in) throws IOException {
+            if (in.remaining() < 6 || in.getInt() != MAGIC) {
+                throw new IOException("不是有效的对局录像文件");
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("不支持的录像版本: " + version);
+            }
+            long seed = in.getLong();
+            String mapName = getString(in);
+            long mapSeed = in.getLong();
+            String ruleSetName = getString(in);
+            int chessmanCount = in.getShort();
+            String[] playerNames = new String[in.getShort()];
+            for (int i = 0; i < playerNames.length; i++) {
+                playerNames[i] = getString(in);
+            }
+            return new Header(seed, mapName, mapSeed, ruleSetName, chessmanCount, playerNames);
+        }
+
+        private static void putString(ByteBuffer out, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) bytes.length).put(bytes);
+        }
+
+        private static String getString(ByteBuffer in) {
+            byte[] bytes = new byte[in.getShort()];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package game.engine;
+
+import game.api.IChessman;
+import game.api.IPlayer;
+import plugin.api.IMapProvider;
+
+/**
+ * 紧凑的对局快照：只含基本类型数组与标志位
+ * 棋子位置存放在 positions[player * chessmenPerPlayer + chessman] 中，
+ * 另有当前玩家、骰子点数、额外回合等回合标志。
+ * 占据查询直接扫描该玩家的几枚棋子，不按棋盘大小维护位图，快照大小与地图长度无关。
+ * 复制只是几次 System.arraycopy，适合搜索与模拟中反复克隆局面。
+ * 快照与对局的对应关系（玩家数、每人棋子数、棋盘大小）在创建时确定。
+ */
+public final class GameSnapshot {
+    private final int playerCount;
+    private final int chessmenPerPlayer;
+    private final int boardSize;
+
+    private final int[] positions;
+    private final boolean[] winners;
+
+    private int currentPlayerIndex;
+    private int currentDiceValue;
+    private int turnNumber;
+    private boolean extraTurn;
+    private boolean gameOver;
+    private int winnerIndex; // 无胜者时为 -1
+
+    public GameSnapshot(int playerCount, int chessmenPerPlayer, int boardSize) {
+        if (playerCount <= 0 || chessmenPerPlayer <= 0 || boardSize <= 0) {
+            throw new IllegalArgumentException("玩家数、棋子数与棋盘大小必须为正数");
+        }
+        this.playerCount = playerCount;
+        this.chessmenPerPlayer = chessmenPerPlayer;
+        this.boardSize = boardSize;
+        this.positions = new int[playerCount * chessmenPerPlayer];
+        this.winners = new boolean[playerCount];
+        this.winnerIndex = -1;
+    }
+
+    /**
+     * 按对局的规模创建快照并立即保存当前局面
+     */
+    public static GameSnapshot of(GameContext context) {
+        IPlayer[] players = context.getPlayers();
+        if (players == null || players.length == 0) {
+            throw new IllegalStateException("对局尚未初始化玩家");
+        }
+        int chessmen = 0;
+        for (IPlayer player : players) {
+            chessmen = Math.max(chessmen, player.getChessman().length);
+        }
+        GameSnapshot snapshot = new GameSnapshot(players.length, chessmen, boardSizeOf(context, players.length));
+        snapshot.capture(context);
+        return snapshot;
+    }
+
+    private static int boardSizeOf(GameContext context, int playerCount) {
+        IMapProvider mapProvider = context.getMapProvider();
+        if (mapProvider == null) {
+            return 1;
+        }
+        int size = mapProvider.getMapSize();
+        for (int p = 0; p < playerCount; p++) {
+            size = Math.max(size, mapProvider.getEndPosition(p) + 1);
+        }
+        return Math.max(size, 1);
+    }
+
+    /**
+     * 把对局的当前局面写入本快照
+     */
+    public void capture(GameContext context) {
+        IPlayer[] players = context.getPlayers();
+        checkShape(players);
+        for (int p = 0; p < playerCount; p++) {
+            IChessman[] chessmen = players[p].getChessman();
+            for (int c = 0; c < chessmenPerPlayer; c++) {
+                int position = c < chessmen.length ? chessmen[c].getPosition() : -1;
+                positions[p * chessmenPerPlayer + c] = position;
+            }
+            winners[p] = players[p].isWinner();
+        }
+
+        GameState state = context.state;
+        currentPlayerIndex = state.getCurrentPlayerIndex();
+        currentDiceValue = state.getCurrentDiceValue();
+        turnNumber = state.getTurnNumber();
+        extraTurn = state.hasExtraTurn();
+        gameOver = state.isGameOver();
+        winnerIndex = -1;
+        IPlayer winner = state.getWinner();
+        for (int p = 0; p < playerCount && winner != null; p++) {
+            if (players[p] == winner) {
+                winnerIndex = p;
+            }
+        }
+    }
+
+    /**
+     * 把本快照载入对局：棋子静默移动，不发布事件、不触发方块效果
+     */
+    public void restore(GameContext context) {
+        IPlayer[] players = context.getPlayers();
+        checkShape(players);
+        for (int p = 0; p < playerCount; p++) {
+            IChessman[] chessmen = players[p].getChessman();
+            for (int c = 0; c < chessmen.length && c < chessmenPerPlayer; c++) {
+                int position = positions[p * chessmenPerPlayer + c];
+                if (chessmen[c] instanceof Chessman) {
+                    ((Chessman) chessmen[c]).moveSilently(position);
+                } else if (chessmen[c].getPosition() != position) {
+                    chessmen[c].setPosition(position);
+                }
+            }
+            if (players[p] instanceof Player) {
+                ((Player) players[p]).restoreWinner(winners[p]);
+            }
+        }
+
+        GameState state = context.state;
+        state.setCurrentPlayerIndex(currentPlayerIndex);
+        state.setCurrentPlayer(currentPlayerIndex >= 0 ? players[currentPlayerIndex] : null);
+        state.setCurrentDiceValue(currentDiceValue);
+        state.setTurnNumber(turnNumber);
+        state.setExtraTurn(extraTurn);
+        state.setGameOver(gameOver);
+        state.setWinner(winnerIndex >= 0 ? players[winnerIndex] : null);
+    }
+
+    /**
+     * 按本快照创建一份只供读取的对局副本，交给渲染线程使用（见 SnapshotView）
+     * 玩家与棋子是新建的副本（名称、编号与对局相同），地图与规则集与对局共用；
+     * 副本与对局再无关联，之后用 restore 载入新的快照即可，不必重新创建。
+     * 需要在引擎线程上调用（读取对局的玩家名称等信息）。
+     */
+    public GameContext createView(GameContext live) {
+        IPlayer[] source = live.getPlayers();
+        checkShape(source);
+        GameContext view = new GameContext();
+        view.setVerbose(false);
+        view.setMapProvider(live.getMapProvider(), live.getPathTable());
+        view.setRuleSetProvider(live.getRuleSetProvider());
+        IPlayer[] players = new IPlayer[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            players[p] = new Player(source[p].getName(), source[p].getPlayerId(), source[p].getChessman().length);
+        }
+        view.setPlayers(players);
+        Board board = new Board(view);
+        board.track(players);
+        view.setBoard(board);
+        restore(view);
+        return view;
+    }
+
+    /**
+     * 从同规模的另一个快照复制全部内容，不分配对象
+     */
+    public void copyFrom(GameSnapshot other) {
+        if (other.playerCount != playerCount || other.chessmenPerPlayer != chessmenPerPlayer
+                || other.boardSize != boardSize) {
+            throw new IllegalArgumentException("快照规模不一致");
+        }
+        System.arraycopy(other.positions, 0, positions, 0, positions.length);
+        System.arraycopy(other.winners, 0, winners, 0, winners.length);
+        currentPlayerIndex = other.currentPlayerIndex;
+        currentDiceValue = other.currentDiceValue;
+        turnNumber = other.turnNumber;
+        extraTurn = other.extraTurn;
+        gameOver = other.gameOver;
+        winnerIndex = other.winnerIndex;
+    }
+
+    public GameSnapshot copy() {
+        GameSnapshot copy = new GameSnapshot(playerCount, chessmenPerPlayer, boardSize);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    public int getPosition(int player, int chessman) {
+        return positions[player * chessmenPerPlayer + chessman];
+    }
+
+    /**
+     * 修改快照中某个棋子的位置
+     */
+    public void setPosition(int player, int chessman, int position) {
+        positions[player * chessmenPerPlayer + chessman] = position;
+    }
+
+    /**
+     * 指定玩家是否有棋子停在该位置
+     */
+    public boolean isOccupied(int player, int position) {
+        if (position < 0 || position >= boardSize) {
+            return false;
+        }
+        for (int c = player * chessmenPerPlayer, end = c + chessmenPerPlayer; c < end; c++) {
+            if (positions[c] == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否有任意玩家的棋子停在该位置
+     */
+    public boolean isOccupied(int position) {
+        for (int p = 0; p < playerCount; p++) {
+            if (isOccupied(p, position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkShape(IPlayer[] players) {
+        if (players == null || players.length != playerCount) {
+            throw new IllegalArgumentException("快照的玩家数与对局不一致");
+        }
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getChessmenPerPlayer() {
+        return chessmenPerPlayer;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public void setCurrentPlayerIndex(int currentPlayerIndex) {
+        this.currentPlayerIndex = currentPlayerIndex;
+    }
+
+    public int getCurrentDiceValue() {
+        return currentDiceValue;
+    }
+
+    public void setCurrentDiceValue(int currentDiceValue) {
+        this.currentDiceValue = currentDiceValue;
+    }
+
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    public void setTurnNumber(int turnNumber) {
+        this.turnNumber = turnNumber;
+    }
+
+    public boolean hasExtraTurn() {
+        return extraTurn;
+    }
+
+    public void setExtraTurn(boolean extraTurn) {
+        this.extraTurn = extraTurn;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
+    }
+
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    public void setWinnerIndex(int winnerIndex) {
+        this.winnerIndex = winnerIndex;
+    }
+
+    public boolean isWinner(int player) {
+        return winners[player];
+    }
+
+    public void setWinner(int player, boolean winner) {
+        winners[player] = winner;
+    }
+}
@@ -0,0 +1,150 @@
+package game.engine;
+
+import java.util.Arrays;
+
+import plugin.api.IBlock;
+import plugin.api.IDiceProvider;
+import plugin.api.IMapProvider;
+import plugin.api.IRuleSetProvider;
+import plugin.api.PathTable;
+
+/**
+ * 落点结算表：(玩家, 位置, 点数) → 按点数移动并结算完确定性方块连锁后的最终位置
+ * 按地图的方块布局为每名玩家预先计算一次，批量模拟时引擎直接查表移动棋子，
+ * 不再逐格发布事件、逐个触发 onLand。连锁的结算方式与 BlockEffectResolver 完全一致
+ * （同样的循环检测与最大连锁长度），并记录触发的方块数以及是否因循环或超长而停止。
+ * 途经非确定性方块（随机、询问玩家、终点判定等）或越过终点的走法不入表，
+ * 查表返回 false，由调用方按原有流程实时执行。
+ * 表的大小与地图长度成正比，超长地图（超过 MAX_POSITIONS 格）不建表，全部实时执行。
+ */
+public final class LandingTable {
+    // 条目编码：最终位置 << 8 | 触发的方块数 << 2 | 标志位
+    private static final int LIVE = -1;
+    private static final int CYCLE = 1;
+    private static final int TRUNCATED = 2;
+    private static final int MAX_LANDINGS = (1 << 6) - 1;
+    // 建表的地图长度上限，超过时逐格预计算的耗时与内存都得不偿失
+    public static final int MAX_POSITIONS = 1 << 16;
+
+    private final int maxDice;
+    // 下标为玩家编号，每名玩家一张 (位置 * (maxDice + 1) + 点数) 的表
+    private final int[][] entries;
+
+    private LandingTable(int maxDice, int[][] entries) {
+        this.maxDice = maxDice;
+        this.entries = entries;
+    }
+
+    /**
+     * 为地图上的前 playerCount 名玩家构建结算表
+     *
+     * @param path 地图已编译的路径表（通常取自 GameContext.getPathTable()）
+     * @return 地图超过 MAX_POSITIONS 格时返回 null
+     */
+    public static LandingTable build(IMapProvider mapProvider, PathTable path, IRuleSetProvider ruleSet,
+            int playerCount) {
+        for (int player = 0; player < playerCount; player++) {
+            if (mapProvider.getEndPosition(player) > MAX_POSITIONS) {
+                return null;
+            }
+        }
+        IDiceProvider diceProvider = ruleSet.getDiceProvider();
+        int maxDice = diceProvider != null ? diceProvider.getMaxValue() : 6;
+        int maxDepth = ruleSet.getMaxBlockEffectDepth();
+
+        int[][] entries = new int[playerCount][];
+        for (int player = 0; player < playerCount; player++) {
+            int endPosition = mapProvider.getEndPosition(player);
+            int[] table = new int[endPosition * (maxDice + 1)];
+            Arrays.fill(table, LIVE);
+            for (int position = 0; position < endPosition; position++) {
+                for (int dice = 1; dice <= maxDice; dice++) {
+                    table[position * (maxDice + 1) + dice] = resolve(path, endPosition, maxDepth, position, dice);
+                }
+            }
+            entries[player] = table;
+        }
+        return new LandingTable(maxDice, entries);
+    }
+
+    /**
+     * 模拟一次从 position 前进 dice 步的移动及其后的方块连锁
+     */
+    private static int resolve(PathTable path, int endPosition, int maxDepth, int position, int dice) {
+        int[] visited = new int[8];
+        int landings = 0;
+        int steps = dice;
+        while (true) {
+            int target;
+            if (steps > 0) {
+                target = position + steps;
+                if (target > endPosition) {
+                    return LIVE; // 越过终点由规则集处理
+                }
+            } else {
+                target = Math.max(0, position + steps);
+            }
+
+            for (int i = 0; i < landings; i++) {
+                if (visited[i] == target) {
+                    return encode(target, landings, CYCLE);
+                }
+            }
+            if (landings >= maxDepth) {
+                return encode(target, landings, TRUNCATED);
+            }
+
+            IBlock block = path.getBlock(target);
+            if (block == null) {
+                return encode(target, landings, 0);
+            }
+            if (!block.isDeterministic() || landings == MAX_LANDINGS) {
+                return LIVE;
+            }
+            if (landings == visited.length) {
+                visited = Arrays.copyOf(visited, landings * 2);
+            }
+            visited[landings++] = target;
+
+            steps = block.getLandingSteps(dice);
+            if (steps == 0) {
+                return encode(target, landings, 0);
+            }
+            position = target;
+        }
+    }
+
+    private static int encode(int position, int landings, int flags) {
+        return position << 8 | landings << 2 | flags;
+    }
+
+    /**
+     * 查表
+     *
+     * @return 条目编码，该走法需要实时执行时返回 -1
+     */
+    int lookup(int playerId, int position, int diceValue) {
+        if (playerId < 0 || playerId >= entries.length || diceValue < 1 || diceValue > maxDice) {
+            return LIVE;
+        }
+        int[] table = entries[playerId];
+        int index = position * (maxDice + 1) + diceValue;
+        return position >= 0 && index < table.length ? table[index] : LIVE;
+    }
+
+    static int finalPosition(int entry) {
+        return entry >>> 8;
+    }
+
+    static int landings(int entry) {
+        return entry >>> 2 & MAX_LANDINGS;
+    }
+
+    static boolean isCycle(int entry) {
+        return (entry & CYCLE) != 0;
+    }
+
+    static boolean isTruncated(int entry) {
+        return (entry & TRUNCATED) != 0;
+    }
+}
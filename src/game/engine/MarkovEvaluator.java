@@ -0,0 +1,863 @@
+package game.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import game.api.IChessman;
+import plugin.api.IBlock;
+import plugin.api.IDiceProvider;
+import plugin.api.IMapProvider;
+import plugin.api.IRuleSetProvider;
+import plugin.api.LandingOutcomes;
+import plugin.api.PathTable;
+
+/**
+ * 地图与规则集的解析评估：把对局建模为马尔可夫链，用动态规划计算期望对局长度与各玩家胜率
+ * 棋子之间没有吃子等相互作用，各玩家的进程彼此独立，因此按玩家的起点与终点分别建链：
+ * 状态是该玩家全部棋子位置的多重集，一次掷骰按骰子的 getProbability 分支，
+ * 可选操作（规则集的移动策略与起飞条件）与无界面对局一样等概率选择，
+ * 落点按方块连锁结算（确定性方块取 getLandingSteps，其余方块取 describeLanding 的概率模型，
+ * 循环检测与最大连锁长度与 BlockEffectResolver 一致），越过终点按规则集的越界规则回退，
+ * 额外回合来自规则集的 shouldGrantExtraTurn 或方块模型。
+ * 逐回合推进各链的状态分布，得到每名玩家在第 k 个自己的回合内完成的概率与掷骰次数，
+ * 再按出手顺序合成整局的期望掷骰次数（与批量模拟的"回合"相同）和胜率。
+ * 修改单个方块（setBlock）后再次 solve 只重建受影响的转移，其余状态沿用上次的结果。
+ * 状态数为 C(位置数 + 棋子数 - 1, 棋子数)，超过 MAX_STATES 时拒绝建链。
+ */
+public final class MarkovEvaluator {
+    public static final int MAX_STATES = 1 << 22;
+    // 某名玩家仍未完成的概率低于该值时停止推进
+    private static final double EPSILON = 1e-9;
+    // 同一回合内剩余的额外回合概率低于本回合概率的该比例时并入下一回合
+    private static final double EXTRA_TOLERANCE = 1e-8;
+    private static final int MAX_TURNS = 20_000;
+
+    private final IRuleSetProvider ruleSet;
+    private final int playerCount;
+    private final int chessmanCount;
+    private final GameContext probe = new GameContext();
+    private final double[] diceProbabilities; // 下标为点数
+    private final IBlock[] blocks;
+    private final Lane[] lanes;
+    private Result result;
+
+    /**
+     * @param playerCount   玩家数
+     * @param chessmanCount 每名玩家的棋子数
+     */
+    public MarkovEvaluator(IMapProvider mapProvider, IRuleSetProvider ruleSet, int playerCount, int chessmanCount) {
+        if (playerCount <= 0 || chessmanCount <= 0) {
+            throw new IllegalArgumentException("玩家数与棋子数必须为正数");
+        }
+        this.ruleSet = ruleSet;
+        this.playerCount = playerCount;
+        this.chessmanCount = chessmanCount;
+        probe.setVerbose(false);
+        probe.setMapProvider(mapProvider);
+        probe.setRuleSetProvider(ruleSet);
+
+        IDiceProvider dice = probe.getDice().getProvider();
+        diceProbabilities = new double[dice.getMaxValue() + 1];
+        for (int value = Math.max(1, dice.getMinValue()); value <= dice.getMaxValue(); value++) {
+            diceProbabilities[value] = dice.getProbability(value);
+        }
+
+        int maxEnd = 0;
+        for (int p = 0; p < playerCount; p++) {
+            maxEnd = Math.max(maxEnd, mapProvider.getEndPosition(p));
+        }
+        PathTable path = probe.getPathTable();
+        blocks = new IBlock[maxEnd + 1];
+        for (int position = 0; position <= maxEnd; position++) {
+            blocks[position] = path.getBlock(position);
+        }
+
+        lanes = new Lane[playerCount];
+        Map<Long, Lane> shared = new HashMap<>();
+        for (int p = 0; p < playerCount; p++) {
+            long key = (long) mapProvider.getStartPosition(p) << 32 | mapProvider.getEndPosition(p);
+            Lane lane = shared.get(key);
+            if (lane == null) {
+                lane = new Lane(p, mapProvider.getStartPosition(p), mapProvider.getEndPosition(p));
+                shared.put(key, lane);
+            }
+            lanes[p] = lane;
+        }
+    }
+
+    /**
+     * 替换某个位置的方块（只影响本评估器，不修改地图），下次 solve 时增量重算
+     */
+    public void setBlock(int position, IBlock block) {
+        if (position < 0 || position >= blocks.length) {
+            throw new IllegalArgumentException("位置超出地图范围: " + position);
+        }
+        blocks[position] = block;
+        for (Lane lane : lanes) {
+            lane.dirty = true;
+        }
+        result = null;
+    }
+
+    public IBlock getBlock(int position) {
+        return position >= 0 && position < blocks.length ? blocks[position] : null;
+    }
+
+    /**
+     * 求解（结果在方块不变时缓存）
+     */
+    public Result solve() {
+        if (result != null) {
+            return result;
+        }
+        int[] rebuiltRows = new int[1];
+        for (Lane lane : lanes) {
+            if (lane.dirty) {
+                rebuiltRows[0] += lane.update();
+            }
+        }
+
+        int turns = 0;
+        for (Lane lane : lanes) {
+            turns = Math.max(turns, lane.turns);
+        }
+        double expectedLength = 0;
+        double[] wins = new double[playerCount];
+        for (int k = 1; k <= turns; k++) {
+            for (int q = 0; q < playerCount; q++) {
+                // 第 k 轮轮到玩家 q：排在前面的玩家第 k 回合都没完成，后面的玩家前 k - 1 回合都没完成
+                double others = 1;
+                for (int j = 0; j < playerCount; j++) {
+                    if (j < q) {
+                        others *= lanes[j].survival(k);
+                    } else if (j > q) {
+                        others *= lanes[j].survival(k - 1);
+                    }
+                }
+                Lane lane = lanes[q];
+                expectedLength += lane.rolls(k) * others;
+                wins[q] += (lane.survival(k - 1) - lane.survival(k)) * others;
+            }
+        }
+        double unresolved = 1;
+        for (Lane lane : lanes) {
+            unresolved *= lane.survival(turns);
+        }
+
+        int states = 0;
+        long transitions = 0;
+        TreeSet<Integer> unmodelled = new TreeSet<>();
+        for (Lane lane : distinctLanes()) {
+            states += lane.stateCount;
+            transitions += lane.transitions;
+            unmodelled.addAll(lane.unmodelled);
+        }
+        result = new Result(expectedLength, wins, unresolved, states, transitions, rebuiltRows[0],
+                unmodelled.stream().mapToInt(Integer::intValue).toArray());
+        return result;
+    }
+
+    private List<Lane> distinctLanes() {
+        List<Lane> distinct = new ArrayList<>();
+        for (Lane lane : lanes) {
+            if (!distinct.contains(lane)) {
+                distinct.add(lane);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * 评估结果
+     */
+    public static final class Result {
+        private final double expectedLength;
+        private final double[] winProbabilities;
+        private final double unresolved;
+        private final int states;
+        private final long transitions;
+        private final int rebuiltRows;
+        private final int[] unmodelledPositions;
+
+        Result(double expectedLength, double[] winProbabilities, double unresolved, int states, long transitions,
+                int rebuiltRows, int[] unmodelledPositions) {
+            this.expectedLength = expectedLength;
+            this.winProbabilities = winProbabilities;
+            this.unresolved = unresolved;
+            this.states = states;
+            this.transitions = transitions;
+            this.rebuiltRows = rebuiltRows;
+            this.unmodelledPositions = unmodelledPositions;
+        }
+
+        /**
+         * 期望对局长度（掷骰次数，与批量模拟报告的回合数相同）
+         */
+        public double getExpectedLength() {
+            return expectedLength;
+        }
+
+        public double getWinProbability(int player) {
+            return winProbabilities[player];
+        }
+
+        /**
+         * 迭代上限内仍无人完成的概率（如棋子无法起飞），正常情况下接近 0
+         */
+        public double getUnresolvedProbability() {
+            return unresolved;
+        }
+
+        public int getStateCount() {
+            return states;
+        }
+
+        public long getTransitionCount() {
+            return transitions;
+        }
+
+        /**
+         * 本次求解重建的状态转移行数，首次求解为全部状态
+         */
+        public int getRebuiltRows() {
+            return rebuiltRows;
+        }
+
+        /**
+         * 没有概率模型、按无效果处理的非确定性方块所在位置
+         */
+        public int[] getUnmodelledPositions() {
+            return unmodelledPositions.clone();
+        }
+    }
+
+    /**
+     * 一条路线（起点与终点相同的玩家共用）上单名玩家的马尔可夫链
+     */
+    private final class Lane {
+        final int start;
+        final int end;
+        final IChessman chessman;
+        final Map<Integer, Integer> overEnd = new HashMap<>();
+
+        boolean dirty = true;
+        final List<Integer> unmodelled = new ArrayList<>();
+
+        // 可达位置（含待起飞区 -1）与其编号，编号按位置升序
+        int[] positions;
+        int[] ids;
+        int endId;
+
+        // 单枚棋子的去向（位置为编号）：moves[编号][点数]、takeOffs[点数]，不能移动或起飞时为 null
+        Outcome[][][] moves;
+        Outcome[][] takeOffs;
+        boolean[][] movable;
+
+        int stateCount;
+        int finished;
+        long transitions;
+        // rankTerms[i][编号]: 有序元组第 i 位取该编号时对状态编号的贡献 C(编号 + i, i + 1)
+        int[][] rankTerms;
+        int[][] rowTargets;
+        double[][] rowProbabilities;
+        // 原地获得额外回合的概率已消去，每份概率对应的期望掷骰次数为 1 / (1 - 该概率)
+        double[] rollFactors;
+
+        // survival[k]: 前 k 个回合内仍未完成的概率；rolls[k]: 第 k 个回合的期望掷骰次数
+        double[] survival;
+        double[] rolls;
+        int turns;
+
+        Lane(int playerId, int start, int end) {
+            this.start = start;
+            this.end = end;
+            this.chessman = new Player("probe", playerId, 1).getChessman()[0];
+        }
+
+        double survival(int k) {
+            return survival[Math.min(k, turns)];
+        }
+
+        double rolls(int k) {
+            return k <= turns ? rolls[k] : rolls[turns];
+        }
+
+        /**
+         * 重新计算单枚棋子的去向，只重建受影响的状态转移，再重新推进分布
+         *
+         * @return 重建的转移行数
+         */
+        int update() {
+            dirty = false;
+            unmodelled.clear();
+            Outcome[][][] oldMoves = moves;
+            Outcome[][] oldTakeOffs = takeOffs;
+            int[] oldPositions = positions;
+            computeOutcomes();
+
+            int rebuilt;
+            if (oldPositions == null || !Arrays.equals(oldPositions, positions)) {
+                // 可达位置变化，状态空间随之改变，整条链重建
+                buildStates();
+                rebuilt = stateCount;
+            } else {
+                boolean[] changed = new boolean[positions.length];
+                boolean any = false;
+                for (int id = 0; id < positions.length; id++) {
+                    changed[id] = !Arrays.deepEquals(oldMoves[id], moves[id]);
+                    any |= changed[id];
+                }
+                if (!Arrays.deepEquals(oldTakeOffs, takeOffs)) {
+                    changed[0] = true;
+                    any = true;
+                }
+                if (!any) {
+                    return 0;
+                }
+                rebuilt = rebuildRows(changed);
+            }
+            propagate();
+            return rebuilt;
+        }
+
+        private void computeOutcomes() {
+            int maxDice = diceProbabilities.length - 1;
+            Map<Integer, Outcome[]> landings = new HashMap<>();
+            // 从待起飞区出发逐步扩展可达位置
+            TreeSet<Integer> reachable = new TreeSet<>();
+            reachable.add(-1);
+            List<Integer> frontier = new ArrayList<>();
+            List<int[]> takeOffRaw = new ArrayList<>();
+            for (int dice = 1; dice <= maxDice; dice++) {
+                if (diceProbabilities[dice] > 0 && ruleSet.getTakeOffCondition().canTakeOff(dice)) {
+                    Outcome[] landing = landing(landings, start, dice);
+                    takeOffRaw.add(new int[] { dice });
+                    for (Outcome outcome : landing) {
+                        if (reachable.add(outcome.position)) {
+                            frontier.add(outcome.position);
+                        }
+                    }
+                }
+            }
+            while (!frontier.isEmpty()) {
+                int position = frontier.remove(frontier.size() - 1);
+                if (position < 0 || position >= end) {
+                    continue;
+                }
+                for (int dice = 1; dice <= maxDice; dice++) {
+                    if (diceProbabilities[dice] <= 0 || !canMove(position, dice)) {
+                        continue;
+                    }
+                    for (Outcome outcome : landing(landings, target(position, dice), dice)) {
+                        if (reachable.add(outcome.position)) {
+                            frontier.add(outcome.position);
+                        }
+                    }
+                }
+            }
+
+            positions = reachable.stream().mapToInt(Integer::intValue).toArray();
+            ids = new int[end + 2];
+            Arrays.fill(ids, -1);
+            for (int id = 0; id < positions.length; id++) {
+                ids[positions[id] + 1] = id;
+            }
+            endId = ids[end + 1];
+
+            moves = new Outcome[positions.length][maxDice + 1][];
+            movable = new boolean[positions.length][maxDice + 1];
+            for (int id = 0; id < positions.length; id++) {
+                int position = positions[id];
+                for (int dice = 1; dice <= maxDice; dice++) {
+                    if (position >= 0 && position < end && diceProbabilities[dice] > 0 && canMove(position, dice)) {
+                        movable[id][dice] = true;
+                        moves[id][dice] = encode(landing(landings, target(position, dice), dice));
+                    }
+                }
+            }
+            takeOffs = new Outcome[maxDice + 1][];
+            for (int[] entry : takeOffRaw) {
+                takeOffs[entry[0]] = encode(landing(landings, start, entry[0]));
+            }
+        }
+
+        private boolean canMove(int position, int dice) {
+            chessman.setPosition(position);
+            return ruleSet.getMoveStrategy().canMove(chessman, dice, probe);
+        }
+
+        /**
+         * 按点数前进后的落点，越过终点时按规则集的越界规则回退
+         */
+        private int target(int position, int steps) {
+            int target = position + steps;
+            if (steps < 0) {
+                return Math.max(0, target);
+            }
+            if (target <= end) {
+                return target;
+            }
+            int over = target - end;
+            Integer back = overEnd.get(over);
+            if (back == null) {
+                back = ruleSet.getOverEndRule().handleOverEnd(chessman, over, probe);
+                overEnd.put(over, back);
+            }
+            return end + back;
+        }
+
+        /**
+         * 落到 position 后方块连锁结算出的去向分布（按位置与额外回合合并）
+         */
+        private Outcome[] landing(Map<Integer, Outcome[]> memo, int position, int dice) {
+            int key = position * (diceProbabilities.length) + dice;
+            Outcome[] cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            Map<Long, Double> merged = new HashMap<>();
+            // 连锁中的落点互不相同，深度不会超过位置数
+            int depth = Math.min(ruleSet.getMaxBlockEffectDepth(), blocks.length + 1);
+            resolve(position, dice, new int[Math.max(0, depth) + 1], 0, 1.0, false, merged);
+            Outcome[] outcomes = new Outcome[merged.size()];
+            int i = 0;
+            for (Map.Entry<Long, Double> entry : merged.entrySet()) {
+                long packed = entry.getKey();
+                outcomes[i++] = new Outcome((int) (packed >> 1), (packed & 1) != 0, entry.getValue());
+            }
+            Arrays.sort(outcomes);
+            memo.put(key, outcomes);
+            return outcomes;
+        }
+
+        private void resolve(int position, int dice, int[] visited, int depth, double probability, boolean extra,
+                Map<Long, Double> out) {
+            IBlock block = position >= 0 && position < blocks.length ? blocks[position] : null;
+            boolean repeated = false;
+            for (int i = 0; i < depth; i++) {
+                repeated |= visited[i] == position;
+            }
+            if (block == null || repeated || depth >= ruleSet.getMaxBlockEffectDepth()) {
+                out.merge((long) position << 1 | (extra ? 1 : 0), probability, Double::sum);
+                return;
+            }
+            visited[depth] = position;
+            if (block.isDeterministic()) {
+                int steps = block.getLandingSteps(dice);
+                if (steps == 0) {
+                    out.merge((long) position << 1 | (extra ? 1 : 0), probability, Double::sum);
+                } else {
+                    resolve(target(position, steps), dice, visited, depth + 1, probability, extra, out);
+                }
+                return;
+            }
+            LandingOutcomes outcomes = new LandingOutcomes();
+            if (!block.describeLanding(position, dice, end, outcomes)) {
+                if (!unmodelled.contains(position)) {
+                    unmodelled.add(position);
+                }
+                out.merge((long) position << 1 | (extra ? 1 : 0), probability, Double::sum);
+                return;
+            }
+            for (int i = 0; i < outcomes.size(); i++) {
+                double p = probability * outcomes.getProbability(i);
+                boolean e = extra || outcomes.grantsExtraTurn(i);
+                int next = outcomes.getPosition(i);
+                if (next == position) {
+                    out.merge((long) position << 1 | (e ? 1 : 0), p, Double::sum);
+                } else {
+                    resolve(next, dice, visited, depth + 1, p, e, out);
+                }
+            }
+        }
+
+        private Outcome[] encode(Outcome[] outcomes) {
+            Outcome[] encoded = new Outcome[outcomes.length];
+            for (int i = 0; i < outcomes.length; i++) {
+                encoded[i] = new Outcome(ids[outcomes[i].position + 1], outcomes[i].extra, outcomes[i].probability);
+            }
+            return encoded;
+        }
+
+        private void buildStates() {
+            int values = positions.length;
+            long count = binomial(values + chessmanCount - 1, chessmanCount);
+            if (count > MAX_STATES) {
+                throw new IllegalStateException("状态数超过上限 " + MAX_STATES + "，请减少棋子数或缩短路线");
+            }
+            stateCount = (int) count;
+            rankTerms = new int[chessmanCount][values];
+            for (int i = 0; i < chessmanCount; i++) {
+                for (int value = 0; value < values; value++) {
+                    rankTerms[i][value] = (int) binomial(value + i, i + 1);
+                }
+            }
+            rowTargets = new int[stateCount][];
+            rowProbabilities = new double[stateCount][];
+            rollFactors = new double[stateCount];
+            Arrays.fill(rollFactors, 1);
+            transitions = 0;
+            // 终点不可达时没有完成状态
+            int[] all = new int[chessmanCount];
+            Arrays.fill(all, endId);
+            finished = endId >= 0 ? rank(all) : -1;
+            boolean[] everything = new boolean[values];
+            Arrays.fill(everything, true);
+            rebuildRows(everything);
+        }
+
+        /**
+         * 重建含有 changed 中任一位置的状态的转移行
+         */
+        private int rebuildRows(boolean[] changed) {
+            int[] tuple = new int[chessmanCount];
+            Row row = new Row(stateCount);
+            int rebuilt = 0;
+            // 按非降序枚举全部多重集
+            Arrays.fill(tuple, 0);
+            while (true) {
+                boolean affected = false;
+                for (int value : tuple) {
+                    affected |= changed[value];
+                }
+                int state = rank(tuple);
+                if (affected && state != finished) {
+                    transitions -= rowTargets[state] != null ? rowTargets[state].length : 0;
+                    buildRow(tuple, state, row);
+                    rollFactors[state] = row.removeSelfLoop(state << 1 | 1);
+                    rowTargets[state] = Arrays.copyOf(row.targets, row.size);
+                    rowProbabilities[state] = Arrays.copyOf(row.probabilities, row.size);
+                    transitions += row.size;
+                    rebuilt++;
+                }
+                int i = chessmanCount - 1;
+                while (i >= 0 && tuple[i] == positions.length - 1) {
+                    i--;
+                }
+                if (i < 0) {
+                    break;
+                }
+                tuple[i]++;
+                for (int j = i + 1; j < chessmanCount; j++) {
+                    tuple[j] = tuple[i];
+                }
+            }
+            if (finished >= 0 && rowTargets[finished] == null) {
+                rowTargets[finished] = new int[0];
+                rowProbabilities[finished] = new double[0];
+            }
+            return rebuilt;
+        }
+
+        private void buildRow(int[] tuple, int state, Row row) {
+            row.clear();
+            for (int dice = 1; dice < diceProbabilities.length; dice++) {
+                double p = diceProbabilities[dice];
+                if (p <= 0) {
+                    continue;
+                }
+                int grant = ruleSet.shouldGrantExtraTurn(dice) ? 1 : 0;
+                boolean takeOff = takeOffs[dice] != null;
+                int options = 0;
+                for (int value : tuple) {
+                    if (movable[value][dice] || (takeOff && positions[value] == -1)) {
+                        options++;
+                    }
+                }
+                if (options == 0) {
+                    row.add(state << 1 | grant, p);
+                    continue;
+                }
+                // 相同位置的棋子给出相同的结果，按棋子数合并
+                for (int i = 0; i < chessmanCount; i++) {
+                    if (i > 0 && tuple[i] == tuple[i - 1]) {
+                        continue;
+                    }
+                    int value = tuple[i];
+                    Outcome[] outcomes = movable[value][dice] ? moves[value][dice]
+                            : takeOff && positions[value] == -1 ? takeOffs[dice] : null;
+                    if (outcomes == null) {
+                        continue;
+                    }
+                    int multiplicity = 1;
+                    while (i + multiplicity < chessmanCount && tuple[i + multiplicity] == value) {
+                        multiplicity++;
+                    }
+                    double weight = p * multiplicity / options;
+                    for (Outcome outcome : outcomes) {
+                        row.add(rankReplacing(tuple, i, outcome.position) << 1 | (grant | (outcome.extra ? 1 : 0)),
+                                weight * outcome.probability);
+                    }
+                }
+            }
+        }
+
+        private int rank(int[] sorted) {
+            int rank = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                rank += rankTerms[i][sorted[i]];
+            }
+            return rank;
+        }
+
+        /**
+         * 把有序元组第 replaced 位换成 value 后的状态编号，边归并边累加，不复制、不排序
+         */
+        private int rankReplacing(int[] sorted, int replaced, int value) {
+            int rank = 0;
+            int slot = 0;
+            boolean placed = false;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == replaced) {
+                    continue;
+                }
+                if (!placed && value <= sorted[i]) {
+                    rank += rankTerms[slot++][value];
+                    placed = true;
+                }
+                rank += rankTerms[slot++][sorted[i]];
+            }
+            if (!placed) {
+                rank += rankTerms[slot][value];
+            }
+            return rank;
+        }
+
+        /**
+         * 逐回合推进状态分布，记录每个回合结束时的未完成概率与期望掷骰次数
+         * 每个回合先沿额外回合的转移求出在各状态掷骰的总概率，再一次性结算普通转移。
+         * 状态按编号升序处理：棋子前进时状态编号增大，获得额外回合后落到编号更大的状态上的概率
+         * 在同一遍扫描中接着处理，只有后退（越界回退、地雷等）后的额外回合才需要再扫一遍。
+         */
+        private void propagate() {
+            // 把各行拼成连续的数组，每行按去向分为三段：普通转移、编号更大的额外回合、其余额外回合，
+            // 完成的概率单独累加，扫描时不必逐项判断
+            int[] offsets = new int[stateCount + 1];
+            int[] forwardStarts = new int[stateCount];
+            int[] backStarts = new int[stateCount];
+            double[] finishing = new double[stateCount];
+            int[] targets = new int[(int) transitions];
+            double[] probabilities = new double[(int) transitions];
+            int size = 0;
+            for (int state = 0; state < stateCount; state++) {
+                offsets[state] = size;
+                for (int pass = 0; pass < 3; pass++) {
+                    if (pass == 1) {
+                        forwardStarts[state] = size;
+                    } else if (pass == 2) {
+                        backStarts[state] = size;
+                    }
+                    int[] row = rowTargets[state];
+                    for (int e = 0; e < row.length; e++) {
+                        int target = row[e] >>> 1;
+                        boolean extra = (row[e] & 1) != 0;
+                        if (target == finished) {
+                            if (pass == 0) {
+                                finishing[state] += rowProbabilities[state][e];
+                            }
+                            continue;
+                        }
+                        int segment = !extra ? 0 : target > state ? 1 : 2;
+                        if (segment == pass) {
+                            targets[size] = target;
+                            probabilities[size++] = rowProbabilities[state][e];
+                        }
+                    }
+                }
+            }
+            offsets[stateCount] = size;
+
+            double[] pending = new double[stateCount]; // 本回合待掷骰的分布
+            double[] extra = new double[stateCount]; // 需要再扫一遍的额外回合
+            double[] visits = new double[stateCount]; // 本回合在各状态掷骰的总概率（含额外回合）
+            double[] next = new double[stateCount];
+            pending[0] = 1; // 全部棋子在待起飞区
+            survival = new double[64];
+            rolls = new double[64];
+            survival[0] = 1;
+            int k = 0;
+            while (survival[k] > EPSILON && k < MAX_TURNS) {
+                k++;
+                if (k == survival.length) {
+                    survival = Arrays.copyOf(survival, k * 2);
+                    rolls = Arrays.copyOf(rolls, k * 2);
+                }
+                // 先只沿额外回合的转移求出本回合在各状态掷骰的总概率，普通转移与其余统计最后一次性结算，
+                // 后退的额外回合需要重扫时也只重扫额外回合那一小段
+                while (true) {
+                    double extraMass = 0;
+                    for (int state = 0; state < stateCount; state++) {
+                        double m = pending[state];
+                        if (m == 0) {
+                            continue;
+                        }
+                        pending[state] = 0;
+                        visits[state] += m;
+                        int e = forwardStarts[state];
+                        for (int limit = backStarts[state]; e < limit; e++) {
+                            pending[targets[e]] += m * probabilities[e];
+                        }
+                        for (int limit = offsets[state + 1]; e < limit; e++) {
+                            double w = m * probabilities[e];
+                            extra[targets[e]] += w;
+                            extraMass += w;
+                        }
+                    }
+                    // 此时 pending 已全部清零
+                    double[] swap = pending;
+                    pending = extra;
+                    extra = swap;
+                    if (extraMass < EXTRA_TOLERANCE * survival[k - 1]) {
+                        // 剩余的额外回合并入下一回合
+                        for (int state = 0; state < stateCount; state++) {
+                            next[state] += pending[state];
+                            pending[state] = 0;
+                        }
+                        break;
+                    }
+                }
+                double turnRolls = 0;
+                double done = 0;
+                for (int state = 0; state < stateCount; state++) {
+                    double m = visits[state];
+                    if (m == 0) {
+                        continue;
+                    }
+                    visits[state] = 0;
+                    turnRolls += m * rollFactors[state];
+                    done += m * finishing[state];
+                    for (int e = offsets[state], limit = forwardStarts[state]; e < limit; e++) {
+                        next[targets[e]] += m * probabilities[e];
+                    }
+                }
+                rolls[k] = turnRolls;
+                survival[k] = Math.max(0, survival[k - 1] - done);
+                double[] swap = pending;
+                pending = next;
+                next = swap;
+            }
+            turns = k;
+        }
+    }
+
+    /**
+     * 组合数 C(n, k)，超过 MAX_STATES 时返回 Long.MAX_VALUE
+     */
+    private static long binomial(int n, int k) {
+        if (k < 0 || n < k) {
+            return 0;
+        }
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            // 中间结果 C(n - k + i, i) 递增，超过上限后不必继续
+            result = result * (n - k + i) / i;
+            if (result > MAX_STATES) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 单枚棋子的一种去向
+     */
+    private static final class Outcome implements Comparable<Outcome> {
+        final int position;
+        final boolean extra;
+        final double probability;
+
+        Outcome(int position, boolean extra, double probability) {
+            this.position = position;
+            this.extra = extra;
+            this.probability = probability;
+        }
+
+        @Override
+        public int compareTo(Outcome other) {
+            int order = Integer.compare(position, other.position);
+            return order != 0 ? order : Boolean.compare(extra, other.extra);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Outcome)) {
+                return false;
+            }
+            Outcome outcome = (Outcome) other;
+            return position == outcome.position && extra == outcome.extra && probability == outcome.probability;
+        }
+
+        @Override
+        public int hashCode() {
+            return position * 31 + (extra ? 1 : 0);
+        }
+    }
+
+    /**
+     * 构建转移行用的缓冲区，相同目标的概率合并
+     * 按目标直接索引已登记的槽位，合并不需要在行内查找。
+     */
+    private static final class Row {
+        int[] targets = new int[32];
+        double[] probabilities = new double[32];
+        int size;
+        // 下标为目标（状态编号 << 1 | 额外回合），值为槽位 + 1，未登记为 0
+        private final int[] slots;
+
+        Row(int stateCount) {
+            slots = new int[stateCount << 1];
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                slots[targets[i]] = 0;
+            }
+            size = 0;
+        }
+
+        void add(int target, double probability) {
+            int slot = slots[target];
+            if (slot != 0) {
+                probabilities[slot - 1] += probability;
+                return;
+            }
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                probabilities = Arrays.copyOf(probabilities, size * 2);
+            }
+            targets[size] = target;
+            probabilities[size++] = probability;
+            slots[target] = size;
+        }
+
+        /**
+         * 消去指向自身的转移：反复以概率 p 回到原状态等价于按 1 / (1 - p) 放大其余转移
+         *
+         * @return 期望的重复次数 1 / (1 - p)
+         */
+        double removeSelfLoop(int self) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] != self || probabilities[i] >= 1 - 1e-12) {
+                    continue;
+                }
+                double factor = 1 / (1 - probabilities[i]);
+                slots[self] = 0;
+                size--;
+                targets[i] = targets[size];
+                probabilities[i] = probabilities[size];
+                if (i < size) {
+                    slots[targets[i]] = i + 1;
+                }
+                for (int j = 0; j < size; j++) {
+                    probabilities[j] *= factor;
+                }
+                return factor;
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package game.engine;
+
+import game.api.IDecisionProvider;
+import game.api.IGameContext;
+import game.api.IPlayer;
+import plugin.api.IMapProvider;
+import plugin.api.IRuleSetProvider;
+import plugin.api.PathTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于蒙特卡洛树搜索的电脑玩家决策
+ * 以当前局面为根，每个可选操作是一个子节点，按 UCB1 分配模拟次数；
+ * 每次模拟把根局面的快照载入私有的沙盒对局，执行该操作后以随机策略下完整局，
+ * 根玩家获胜记 1 分。骰子使每一步都是机会节点，因此树只展开到根的子节点一层，
+ * 更深处全部交给随机模拟。
+ * 每步的思考时间有上限：各工作线程在截止时间后不再开始新的模拟，
+ * 最终选择被模拟次数最多的操作。
+ */
+public class MctsDecisionProvider implements IDecisionProvider {
+    // 单次模拟的回合上限，超过时按未获胜计
+    private static final int MAX_PLAYOUT_TURNS = 2_000;
+    // UCB1 的探索系数
+    private static final double EXPLORATION = Math.sqrt(2);
+    // 等待工作线程收尾的额外时间
+    private static final long GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+
+    private final long thinkNanos;
+    private final int threads;
+    private ExecutorService executor;
+    // 落点结算表只取决于地图、规则与玩家人数，跨步复用，换局或换地图时重建
+    private volatile CachedLandingTable landingTable;
+
+    /**
+     * @param thinkMillis 每步的思考时间（毫秒）
+     * @param threads     并行模拟的线程数，为 1 时直接在引擎线程中模拟
+     */
+    public MctsDecisionProvider(long thinkMillis, int threads) {
+        if (thinkMillis <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("思考时间与线程数必须为正数");
+        }
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+        this.threads = threads;
+    }
+
+    @Override
+    public int chooseAction(IGameContext context, IPlayer player, int diceValue, List<String> options) {
+        int arms = options.size();
+        if (arms <= 1 || !(context instanceof GameContext)) {
+            return 0;
+        }
+        GameContext live = (GameContext) context;
+        int rootPlayer = Arrays.asList(live.getPlayers()).indexOf(player);
+        if (rootPlayer < 0) {
+            return 0;
+        }
+
+        long deadline = System.nanoTime() + thinkNanos;
+        GameSnapshot root = GameSnapshot.of(live);
+        root.setCurrentPlayerIndex(rootPlayer);
+        root.setCurrentDiceValue(diceValue);
+        Search search = new Search(arms, landingTable(live));
+
+        if (threads == 1) {
+            search.run(live, root, rootPlayer, deadline, ThreadLocalRandom.current().nextLong());
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                long seed = ThreadLocalRandom.current().nextLong();
+                tasks.add(() -> {
+                    search.run(live, root, rootPlayer, deadline, seed);
+                    return null;
+                });
+            }
+            try {
+                executor().invokeAll(tasks, deadline - System.nanoTime() + GRACE_NANOS, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int best = search.best();
+        if (live.isVerbose()) {
+            System.out.println("[MCTS] 玩家 " + player.getName() + " 完成 " + search.total() + " 次模拟，选择 "
+                    + options.get(best) + String.format(" (胜率 %.1f%%)", search.winRate(best) * 100));
+        }
+        return best;
+    }
+
+    /**
+     * 停止并行模拟的工作线程
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * 取当前对局可用的落点结算表，地图（及其路径表）、规则或玩家人数变化时才重新构建
+     */
+    private LandingTable landingTable(GameContext live) {
+        IMapProvider mapProvider = live.getMapProvider();
+        IRuleSetProvider ruleSet = live.getRuleSetProvider();
+        int playerCount = live.getPlayers().length;
+        PathTable path = live.getPathTable();
+        CachedLandingTable cached = landingTable;
+        if (cached == null || !cached.matches(mapProvider, path, ruleSet, playerCount)) {
+            cached = new CachedLandingTable(mapProvider, path, ruleSet, playerCount,
+                    LandingTable.build(mapProvider, path, ruleSet, playerCount));
+            landingTable = cached;
+        }
+        return cached.table;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "MCTS-" + THREAD_ID.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private static final class CachedLandingTable {
+        private final IMapProvider mapProvider;
+        private final PathTable path;
+        private final IRuleSetProvider ruleSet;
+        private final int playerCount;
+        private final LandingTable table;
+
+        CachedLandingTable(IMapProvider mapProvider, PathTable path, IRuleSetProvider ruleSet, int playerCount,
+                LandingTable table) {
+            this.mapProvider = mapProvider;
+            this.path = path;
+            this.ruleSet = ruleSet;
+            this.playerCount = playerCount;
+            this.table = table;
+        }
+
+        boolean matches(IMapProvider mapProvider, PathTable path, IRuleSetProvider ruleSet, int playerCount) {
+            return this.mapProvider == mapProvider && this.path == path && this.ruleSet == ruleSet
+                    && this.playerCount == playerCount;
+        }
+    }
+
+    /**
+     * 一次决策的搜索统计，由各工作线程共享
+     * 选择时先计入访问次数（虚拟损失），避免多个线程同时挤在同一个子节点上。
+     */
+    private static final class Search {
+        private final int[] visits;
+        private final double[] wins;
+        private final LandingTable landingTable;
+        private int total;
+
+        Search(int arms, LandingTable landingTable) {
+            this.visits = new int[arms];
+            this.wins = new double[arms];
+            this.landingTable = landingTable;
+        }
+
+        void run(GameContext live, GameSnapshot root, int rootPlayer, long deadline, long seed) {
+            Sandbox sandbox = new Sandbox(live, seed, landingTable);
+            while (System.nanoTime() < deadline) {
+                int arm = select();
+                update(arm, sandbox.playout(root, arm, rootPlayer));
+            }
+        }
+
+        synchronized int select() {
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logTotal = Math.log(total + 1);
+            for (int a = 0; a < visits.length; a++) {
+                if (visits[a] == 0) {
+                    best = a;
+                    break;
+                }
+                double score = wins[a] / visits[a] + EXPLORATION * Math.sqrt(logTotal / visits[a]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = a;
+                }
+            }
+            visits[best]++;
+            total++;
+            return best;
+        }
+
+        synchronized void update(int arm, double reward) {
+            wins[arm] += reward;
+        }
+
+        synchronized int best() {
+            int best = 0;
+            for (int a = 1; a < visits.length; a++) {
+                if (visits[a] > visits[best] || (visits[a] == visits[best] && winRate(a) > winRate(best))) {
+                    best = a;
+                }
+            }
+            return best;
+        }
+
+        synchronized int total() {
+            return total;
+        }
+
+        synchronized double winRate(int arm) {
+            return visits[arm] == 0 ? 0 : wins[arm] / visits[arm];
+        }
+    }
+
+    /**
+     * 模拟用的私有对局：独立的上下文、事件总线与随机源，无界面、不输出调试信息
+     * 与真实对局共享只读的地图与规则集，玩家与棋子数量保持一致，
+     * 每次模拟前从根快照恢复局面，确定性方块的连锁通过落点结算表查表完成。
+     */
+    private static final class Sandbox {
+        private final GameContext context = new GameContext();
+        private final GameEngine engine;
+        private final IPlayer[] players;
+
+        Sandbox(GameContext live, long seed, LandingTable landingTable) {
+            context.setVerbose(false);
+            context.setSeed(seed);
+            context.setMapProvider(live.getMapProvider(), live.getPathTable());
+            context.setRuleSetProvider(live.getRuleSetProvider());
+            engine = new GameEngine(context);
+            Board board = new Board(context);
+            board.setLandingTable(landingTable);
+            engine.setBoard(board);
+
+            IPlayer[] livePlayers = live.getPlayers();
+            players = new IPlayer[livePlayers.length];
+            for (int i = 0; i < players.length; i++) {
+                players[i] = new Player(livePlayers[i].getName(), livePlayers[i].getPlayerId(),
+                        livePlayers[i].getChessman().length);
+            }
+            engine.initialize(Arrays.asList(players));
+            engine.start();
+        }
+
+        /**
+         * 从根局面执行指定操作，随后随机下完整局
+         *
+         * @return 根玩家获胜为 1，否则为 0
+         */
+        double playout(GameSnapshot root, int arm, int rootPlayer) {
+            engine.restore(root);
+            IPlayer player = players[rootPlayer];
+            int diceValue = root.getCurrentDiceValue();
+            RuleEngine ruleEngine = engine.getRuleEngine();
+            RuleEngine.ActionOptions options = ruleEngine.analyzeActions(player, diceValue);
+            if (arm >= options.size()) {
+                return 0;
+            }
+            ruleEngine.executeAction(player, diceValue, options, arm);
+            if (!context.state.isGameOver()) {
+                engine.endTurn();
+            }
+
+            int turns = 0;
+            while (!context.state.isGameOver() && turns < MAX_PLAYOUT_TURNS) {
+                engine.playTurn();
+                turns++;
+            }
+            return context.state.getWinner() == player ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package game.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import game.api.IChessman;
+
+/**
+ * 位置到棋子的索引，由 Board 持有，棋子位置变化时增量维护
+ * 只为有棋子的位置登记：开放寻址的 位置 → 首枚棋子 表，同一位置的棋子按到达顺序串成链，
+ * 全部用基本类型数组保存，大小与棋子数成正比，与地图长度无关。
+ * 移动棋子（包括逐格移动的每一步）只改写数组，不分配对象；
+ * 查询空格子返回共享的空列表，有棋子时返回按到达顺序排列的只读副本。
+ * 所有操作在索引上同步，渲染线程可以在引擎线程移动棋子的同时查询。
+ */
+final class OccupancyIndex {
+    private static final int MIN_POSITION = -1;
+    private static final int NONE = -1;
+
+    // 按登记顺序编号的棋子及其位置、同一位置上的下一枚棋子
+    private IChessman[] chessmen = new IChessman[8];
+    private int[] positions = new int[8];
+    private int[] next = new int[8];
+    private int count;
+
+    // 开放寻址表：keys 为位置，heads 为该位置首枚棋子的编号，NONE 表示空槽
+    private int[] keys = new int[16];
+    private int[] heads = new int[16];
+
+    OccupancyIndex() {
+        Arrays.fill(heads, NONE);
+    }
+
+    synchronized List<IChessman> get(int position) {
+        int head = position < MIN_POSITION ? NONE : heads[find(position)];
+        if (head == NONE) {
+            return Collections.emptyList();
+        }
+        List<IChessman> result = new ArrayList<>(4);
+        for (int slot = head; slot != NONE; slot = next[slot]) {
+            result.add(chessmen[slot]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    synchronized void add(IChessman chessman, int position) {
+        int slot = slotOf(chessman);
+        if (slot == NONE) {
+            if (count == chessmen.length) {
+                chessmen = Arrays.copyOf(chessmen, count * 2);
+                positions = Arrays.copyOf(positions, count * 2);
+                next = Arrays.copyOf(next, count * 2);
+            }
+            slot = count++;
+            chessmen[slot] = chessman;
+            positions[slot] = Integer.MIN_VALUE;
+            if (count * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+        } else if (positions[slot] >= MIN_POSITION) {
+            unlink(slot);
+        }
+        link(slot, position);
+    }
+
+    synchronized void remove(IChessman chessman, int position) {
+        int slot = slotOf(chessman);
+        if (slot != NONE && positions[slot] == position && position >= MIN_POSITION) {
+            unlink(slot);
+            positions[slot] = Integer.MIN_VALUE;
+        }
+    }
+
+    synchronized void move(IChessman chessman, int from, int to) {
+        if (from == to) {
+            return;
+        }
+        int slot = slotOf(chessman);
+        if (slot == NONE) {
+            return;
+        }
+        if (positions[slot] >= MIN_POSITION) {
+            unlink(slot);
+        }
+        link(slot, to);
+    }
+
+    synchronized void clear() {
+        Arrays.fill(chessmen, 0, count, null);
+        count = 0;
+        Arrays.fill(heads, NONE);
+    }
+
+    private int slotOf(IChessman chessman) {
+        for (int slot = 0; slot < count; slot++) {
+            if (chessmen[slot] == chessman) {
+                return slot;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * 把棋子接到 position 的链尾；待起飞区以外的负数位置不登记
+     */
+    private void link(int slot, int position) {
+        positions[slot] = position < MIN_POSITION ? Integer.MIN_VALUE : position;
+        next[slot] = NONE;
+        if (position < MIN_POSITION) {
+            return;
+        }
+        int index = find(position);
+        if (heads[index] == NONE) {
+            keys[index] = position;
+            heads[index] = slot;
+            return;
+        }
+        int tail = heads[index];
+        while (next[tail] != NONE) {
+            tail = next[tail];
+        }
+        next[tail] = slot;
+    }
+
+    private void unlink(int slot) {
+        int index = find(positions[slot]);
+        if (heads[index] == slot) {
+            heads[index] = next[slot];
+            if (heads[index] == NONE) {
+                delete(index);
+            }
+        } else {
+            int previous = heads[index];
+            while (next[previous] != slot) {
+                previous = next[previous];
+            }
+            next[previous] = next[slot];
+        }
+        next[slot] = NONE;
+    }
+
+    /**
+     * 位置所在的槽，不存在时返回探测链上的第一个空槽
+     */
+    private int find(int position) {
+        int mask = keys.length - 1;
+        int index = mix(position) & mask;
+        while (heads[index] != NONE && keys[index] != position) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * 线性探测下的删除：把后面探测链上的条目前移填补空槽，不留墓碑
+     */
+    private void delete(int index) {
+        int mask = keys.length - 1;
+        int hole = index;
+        int probe = index;
+        while (true) {
+            probe = (probe + 1) & mask;
+            if (heads[probe] == NONE) {
+                break;
+            }
+            int home = mix(keys[probe]) & mask;
+            // home 不在 (hole, probe] 之间时，该条目可以移到 hole
+            if (hole <= probe ? (home <= hole || home > probe) : (home <= hole && home > probe)) {
+                keys[hole] = keys[probe];
+                heads[hole] = heads[probe];
+                hole = probe;
+            }
+        }
+        heads[hole] = NONE;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldHeads = heads;
+        keys = new int[capacity];
+        heads = new int[capacity];
+        Arrays.fill(heads, NONE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != NONE) {
+                int index = find(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                heads[index] = oldHeads[i];
+            }
+        }
+    }
+
+    private static int mix(int position) {
+        int h = position * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
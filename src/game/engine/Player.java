@@ -2,6 +2,7 @@ package game.engine;
 
 import game.api.IPlayer;
 import game.api.IChessman;
+import game.api.IEventBus;
 
 public class Player implements IPlayer {
     private String name;
@@ -56,6 +57,24 @@ public class Player implements IPlayer {
         return active;
     }
 
+    /**
+     * 将棋子绑定到所在对局的事件总线
+     */
+    public void bind(IEventBus eventBus) {
+        for (IChessman chessman : chessmen) {
+            if (chessman instanceof Chessman) {
+                ((Chessman) chessman).bind(eventBus);
+            }
+        }
+    }
+
+    /**
+     * 从快照恢复胜者标记
+     */
+    void restoreWinner(boolean winner) {
+        this.isWinner = winner;
+    }
+
     public void reset() {
         this.isWinner = false;
         this.active = true;
@@ -0,0 +1,186 @@
+package game.engine;
+
+import game.api.IRandomSource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * 基于 SplitMix64 的随机源（与 SplittableRandom 相同的算法）
+ * 自行实现而不直接包装 SplittableRandom，是为了能读出和恢复内部状态，供存档使用。
+ * 主流以本局种子为初始状态；派生流的初始状态由本局种子与名称散列混合得到，
+ * 重新播种时已派生的流原地重置，持有它们的对象（如骰子）无需重新获取。
+ */
+public final class RandomSource implements IRandomSource {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final RandomSource root;
+    private final String name;
+    private final long key;
+    private final Map<String, RandomSource> streams;
+    private long seed;
+    private long state;
+
+    public RandomSource() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public RandomSource(long seed) {
+        this.root = this;
+        this.name = "";
+        this.key = 0L;
+        this.streams = new LinkedHashMap<>();
+        setSeed(seed);
+    }
+
+    private RandomSource(RandomSource root, String name) {
+        this.root = root;
+        this.name = name;
+        this.key = mix64(hash(name));
+        this.streams = null;
+        reseed(root.seed);
+    }
+
+    /**
+     * 以新的种子重置主流与全部派生流
+     */
+    public void setSeed(long seed) {
+        if (root != this) {
+            root.setSeed(seed);
+            return;
+        }
+        reseed(seed);
+        for (RandomSource stream : streams.values()) {
+            stream.reseed(seed);
+        }
+    }
+
+    private void reseed(long seed) {
+        this.seed = seed;
+        this.state = root == this ? seed : mix64(seed ^ key);
+    }
+
+    /**
+     * 本局种子
+     */
+    public long getSeed() {
+        return root.seed;
+    }
+
+    /**
+     * 当前流的内部状态
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * 已派生的全部流，按派生顺序排列
+     */
+    public Map<String, RandomSource> getStreams() {
+        return Collections.unmodifiableMap(root.streams);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RandomSource stream(String name) {
+        if (root != this) {
+            return root.stream(this.name + "/" + name);
+        }
+        RandomSource stream = streams.get(name);
+        if (stream == null) {
+            stream = new RandomSource(this, name);
+            streams.put(name, stream);
+        }
+        return stream;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound 必须为正数");
+        }
+        int r = mix32(state += GOLDEN_GAMMA);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        // 拒绝采样，保证结果均匀
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(state += GOLDEN_GAMMA) >>> 1) {
+        }
+        return r;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return mix32(state += GOLDEN_GAMMA) < 0;
+    }
+
+    /**
+     * 以 java.util.Random 的形式使用本流，供仍调用 IGameContext.getRandom() 的旧插件使用
+     */
+    public Random asRandom() {
+        return new RandomView(this);
+    }
+
+    private static long hash(String name) {
+        long h = 1125899906842597L;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + name.charAt(i);
+        }
+        return h;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static final class RandomView extends Random {
+        private static final long serialVersionUID = 1L;
+        private final RandomSource source;
+
+        RandomView(RandomSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public synchronized void setSeed(long seed) {
+            // 父类构造器会调用本方法，此时 source 尚未赋值
+            if (source != null) {
+                source.setSeed(seed);
+            }
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (source.nextLong() >>> (64 - bits));
+        }
+    }
+}
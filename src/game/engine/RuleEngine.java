@@ -7,80 +7,117 @@ import ui.api.IUserInterface;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class RuleEngine {
-    private GameContext context = GameContext.getInstance();
-    private IEventBus eventBus = EventBus.getInstance();
+    private final GameContext context;
+    private final IEventBus eventBus;
+    private final List<IEventBus.Subscription> subscriptions = new ArrayList<>();
+
+    public RuleEngine(GameContext context) {
+        this.context = context;
+        this.eventBus = context.getEventBus();
+        subscriptions.add(eventBus.subscribe(EventType.CHESSMAN_MOVED, this::checkGameOver));
+        subscriptions.add(eventBus.subscribe(EventType.CHESSMAN_OVER_END, this::onChessmanOverEnd));
+    }
 
-    public RuleEngine() {
-        eventBus.subscribe("DiceRolled", this::onDiceRolled);
-        eventBus.subscribe("ChessmanMoved", this::checkGameOver);
-        eventBus.subscribe("ChessmanOverEnd", this::onChessmanOverEnd);
+    /**
+     * 退订全部事件，重新初始化游戏时由引擎调用
+     */
+    public void dispose() {
+        for (IEventBus.Subscription subscription : subscriptions) {
+            subscription.unsubscribe();
+        }
+        subscriptions.clear();
     }
 
     private void onChessmanOverEnd(IGameEvent event) {
-        if (event == null || !(event.getData() instanceof Map<?, ?>)) {
+        if (!(event instanceof GameEvents.ChessmanOverEnd)) {
             return;
         }
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> data = (Map<String, Object>) event.getData();
-        Chessman chessman = (Chessman) data.get("chessman");
-        int endPosition = (int) data.get("endPosition");
-        int overSteps = (int) data.get("overSteps");
+        GameEvents.ChessmanOverEnd overEnd = (GameEvents.ChessmanOverEnd) event;
+        IChessman chessman = overEnd.getChessman();
+        int endPosition = overEnd.getEndPosition();
+        int overSteps = overEnd.getOverSteps();
 
         IRuleSetProvider ruleSetProvider = context.getRuleSetProvider();
         int finalPosition = endPosition
                 + ruleSetProvider.getOverEndRule().handleOverEnd(chessman, overSteps, context);
 
-        System.out.println("[RuleEngine] 棋子 " + chessman.getChessmanId() +
-                " 越过终点 " + overSteps + " 格，规则将其更新为 " + finalPosition);
+        if (context.isVerbose()) {
+            System.out.println("[RuleEngine] 棋子 " + chessman.getChessmanId() +
+                    " 越过终点 " + overSteps + " 格，规则将其更新为 " + finalPosition);
+        }
 
         chessman.setPosition(finalPosition);
     }
 
-    private void onDiceRolled(IGameEvent event) {
-        if (event == null || event.getData() == null) {
-            return;
-        }
-
+    /**
+     * 决定本次掷骰要执行的操作
+     * 回放时取录像中的选择，电脑玩家由决策提供者选择，无界面（批量模拟）时随机选择，
+     * 这几种情况返回的 future 已经完成；有界面时通过 requestChoice 异步询问玩家，
+     * future 在玩家作出有效选择后完成，等待期间不占用线程。没有可用操作时以 -1 完成。
+     */
+    public CompletableFuture<Integer> requestAction(IPlayer player, int diceValue, ActionOptions options) {
         IUserInterface userInterface = context.getUserInterface();
-        if (userInterface == null) {
-            System.err.println("[RuleEngine] 错误：用户界面未初始化");
-            return;
+        GameJournal journal = context.getJournal();
+        if (journal != null && journal.isReplaying()) {
+            // 回放：直接使用录像中的选择，不询问任何人
+            return CompletableFuture.completedFuture(options.isEmpty() ? -1 : journal.nextChoice());
+        }
+        IDecisionProvider decisionProvider = player.getDecisionProvider();
+        if (decisionProvider != null && !options.isEmpty()) {
+            // 电脑玩家：由决策提供者选择，不经过用户界面
+            int choice = options.size() == 1 ? 0
+                    : decisionProvider.chooseAction(context, player, diceValue, options.getOptionDescriptions());
+            if (choice < 0 || choice >= options.size()) {
+                choice = 0;
+            }
+            return CompletableFuture.completedFuture(choice);
         }
-
-        if (!(event.getData() instanceof Map<?, ?>)) {
-            return;
+        if (userInterface == null) {
+            // 无界面（批量模拟）：随机选择一个可用操作
+            return CompletableFuture.completedFuture(
+                    options.isEmpty() ? -1 : context.getRandomSource().nextInt(options.size()));
         }
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> data = (Map<String, Object>) event.getData();
-        int diceValue = (Integer) data.get("diceValue");
-        IPlayer player = (IPlayer) data.get("player");
-
-        ActionOptions options = analyzeActions(player, diceValue);
         if (options.isEmpty()) {
             userInterface.displayMessage("[NOTICE] 玩家 " + player.getName() + " 摇到了 " + diceValue + "，但没有可用的操作！");
-            return;
+            return CompletableFuture.completedFuture(-1);
         }
 
-        int choice = userInterface.getUserChoice(
-                "玩家 " + player.getName() + " 摇到了 " + diceValue + "，请选择您的操作:",
-                options.getOptionDescriptions());
+        return askUser(userInterface, "玩家 " + player.getName() + " 摇到了 " + diceValue + "，请选择您的操作:", options);
+    }
 
-        while (choice < 0 || choice >= options.size()) {
+    private CompletableFuture<Integer> askUser(IUserInterface userInterface, String prompt, ActionOptions options) {
+        return userInterface.requestChoice(prompt, options.getOptionDescriptions()).thenCompose(choice -> {
+            if (choice != null && choice >= 0 && choice < options.size()) {
+                return CompletableFuture.completedFuture(choice);
+            }
             userInterface.displayError("无效选择，请重新选择！");
-            choice = userInterface.getUserChoice(
-                    "玩家 " + player.getName() + " 摇到了 " + diceValue + "，请选择您的操作:",
-                    options.getOptionDescriptions());
-        }
+            return askUser(userInterface, prompt, options);
+        });
+    }
 
+    /**
+     * 执行 requestAction 决定的操作，并写入录像；choice 无效（如 -1）时什么也不做
+     */
+    public void applyAction(IPlayer player, int diceValue, ActionOptions options, int choice) {
+        if (choice < 0 || choice >= options.size()) {
+            return;
+        }
+        GameJournal journal = context.getJournal();
+        if (journal != null && !journal.isReplaying()) {
+            journal.recordChoice(choice);
+        }
         executeAction(player, diceValue, options, choice);
     }
 
-    private ActionOptions analyzeActions(IPlayer player, int diceValue) {
+    /**
+     * 列出玩家在给定点数下的全部可选操作
+     */
+    public ActionOptions analyzeActions(IPlayer player, int diceValue) {
         ActionOptions options = new ActionOptions();
         IRuleSetProvider ruleSetProvider = context.getRuleSetProvider();
         IMapProvider mapProvider = context.getMapProvider();
@@ -113,7 +150,7 @@ public class RuleEngine {
     /**
      * 执行玩家选择的操作
      */
-    private void executeAction(IPlayer player, int diceValue, ActionOptions options, int choice) {
+    void executeAction(IPlayer player, int diceValue, ActionOptions options, int choice) {
         IBoard board = context.getBoard();
         IUserInterface userInterface = context.getUserInterface();
 
@@ -123,9 +160,16 @@ public class RuleEngine {
             IChessman chessman = player.getChessman()[chessmanId];
             int oldPosition = chessman.getPosition();
 
-            board.moveChessman(chessman, diceValue);
-            userInterface.displayMessage("[OK] 玩家 " + player.getName() + " 将棋子 " + chessmanId +
-                    " 从位置 " + oldPosition + " 移动到位置 " + chessman.getPosition());
+            if (board instanceof Board && ((Board) board).moveByTable(chessman, diceValue)) {
+                // 查表完成移动与方块连锁，没有逐格事件，由此检查胜负
+                checkGameOver(null);
+            } else {
+                board.moveChessman(chessman, diceValue);
+            }
+            if (userInterface != null) {
+                userInterface.displayMessage("[OK] 玩家 " + player.getName() + " 将棋子 " + chessmanId +
+                        " 从位置 " + oldPosition + " 移动到位置 " + chessman.getPosition());
+            }
 
         } else {
             // 起飞棋子
@@ -134,16 +178,17 @@ public class RuleEngine {
             int startPosition = mapProvider.getStartPosition(player.getPlayerId());
             player.getChessman()[chessmanId].setPosition(startPosition);
 
-            userInterface.displayMessage("[OK] 玩家 " + player.getName() + " 的棋子 " + chessmanId +
-                    " 起飞到位置 " + startPosition + "！");
+            if (userInterface != null) {
+                userInterface.displayMessage("[OK] 玩家 " + player.getName() + " 的棋子 " + chessmanId +
+                        " 起飞到位置 " + startPosition + "！");
+            }
 
             // 发布棋子起飞事件（起飞触发起点方块效果）
-            eventBus.publish(new GameEvent("ChessmanTakeOff", player.getChessman()[chessmanId],
-                    "棋子 " + chessmanId + " 起飞到位置 " + startPosition));
+            eventBus.publish(new GameEvents.ChessmanTakeOff(player.getChessman()[chessmanId], startPosition));
         }
     }
 
-    private static class ActionOptions {
+    public static class ActionOptions {
         private List<String> descriptions = new ArrayList<>();
         private List<Integer> chessmanIds = new ArrayList<>();
         private List<Boolean> isMoveAction = new ArrayList<>();
@@ -160,23 +205,23 @@ public class RuleEngine {
             isMoveAction.add(false);
         }
 
-        boolean isEmpty() {
+        public boolean isEmpty() {
             return descriptions.isEmpty();
         }
 
-        int size() {
+        public int size() {
             return descriptions.size();
         }
 
-        List<String> getOptionDescriptions() {
+        public List<String> getOptionDescriptions() {
             return descriptions;
         }
 
-        int getChessmanId(int choice) {
+        public int getChessmanId(int choice) {
             return chessmanIds.get(choice);
         }
 
-        boolean isMoveAction(int choice) {
+        public boolean isMoveAction(int choice) {
             return isMoveAction.get(choice);
         }
     }
@@ -199,7 +244,7 @@ public class RuleEngine {
             context.state.setWinner(winner);
             context.state.setGameOver(true);
 
-            eventBus.publish(new GameEvent("GameOver", winner,
+            eventBus.publish(new GameEvent(EventType.GAME_OVER, winner,
                     "游戏结束，获胜者：" + (winner != null ? winner.getName() : "无")));
         }
     }
@@ -0,0 +1,397 @@
+package game.engine;
+
+import game.api.IPlayer;
+import game.api.IDecisionProvider;
+import plugin.api.IMapProvider;
+import plugin.api.IRuleSetProvider;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 对局存档：带版本号的紧凑二进制格式，通过内存映射读写
+ * 文件头之后是两个交替写入的槽位，每个槽位带递增序号与 CRC32 校验，
+ * 写到一半进程退出时，另一个槽位中的上一次存档仍然完整可用；读档时取序号最大且校验通过的槽位。
+ * 存档内容：随机源的种子与各个流的状态、地图名称/版本/种子、规则集名称/版本、玩家名称与标志、
+ * 回合状态以及全部棋子位置。读档直接在映射的缓冲区上按偏移读取，不经过流式反序列化。
+ */
+public final class SaveFile implements Closeable {
+    private static final int MAGIC = 0x41435356; // "ACSV"
+    // 版本 2 起保存随机源各个流的状态；版本 1 只有一个 java.util.Random 的状态
+    private static final short VERSION = 2;
+    private static final int FILE_HEADER_SIZE = 16;
+    // 槽位头：序号 (long) + 内容长度 (int) + CRC32 (int)
+    private static final int SLOT_HEADER_SIZE = 16;
+    private static final int MIN_SLOT_SIZE = 4096;
+
+    private static final int PLAYER_WINNER = 1;
+    private static final int PLAYER_BOT = 2;
+    private static final int STATE_EXTRA_TURN = 1;
+    private static final int STATE_GAME_OVER = 2;
+
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer buffer;
+    private int slotSize;
+    private long sequence;
+    private GameSnapshot scratch;
+
+    private SaveFile(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * 打开存档文件用于写入，之后每次调用 save 都会写入一份新的存档
+     * 文件已是存档时沿用其槽位与序号，新的存档不会覆盖其中最新的一份，
+     * 因此可以从某个存档读档后继续向同一个文件自动存档。
+     */
+    public static SaveFile create(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        SaveFile saveFile = new SaveFile(channel);
+        long size = channel.size();
+        if (size >= FILE_HEADER_SIZE) {
+            MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int slotSize = existing.getInt(8);
+            if (existing.getInt(0) == MAGIC && existing.getShort(4) == VERSION && slotSize >= MIN_SLOT_SIZE
+                    && FILE_HEADER_SIZE + 2L * slotSize <= size) {
+                saveFile.buffer = existing;
+                saveFile.slotSize = slotSize;
+                saveFile.sequence = Math.max(existing.getLong(FILE_HEADER_SIZE),
+                        existing.getLong(FILE_HEADER_SIZE + slotSize));
+            }
+        }
+        return saveFile;
+    }
+
+    /**
+     * 保存对局的当前局面
+     */
+    public synchronized void save(GameContext context) throws IOException {
+        IPlayer[] players = context.getPlayers();
+        IMapProvider mapProvider = context.getMapProvider();
+        IRuleSetProvider ruleSet = context.getRuleSetProvider();
+        if (scratch == null || scratch.getPlayerCount() != players.length) {
+            scratch = GameSnapshot.of(context);
+        } else {
+            scratch.capture(context);
+        }
+
+        // 预生成而未使用的点数不属于局面，先回退骰子流
+        context.getDice().sync();
+        RandomSource random = context.getRandomSource();
+        Map<String, RandomSource> streams = random.getStreams();
+        byte[][] strings = new byte[4 + players.length][];
+        strings[0] = utf8(mapProvider.getMapName());
+        strings[1] = utf8(mapProvider.getVersion());
+        strings[2] = utf8(ruleSet.getRuleSetName());
+        strings[3] = utf8(ruleSet.getVersion());
+        for (int i = 0; i < players.length; i++) {
+            strings[4 + i] = utf8(players[i].getName());
+        }
+        byte[][] streamNames = new byte[streams.size()][];
+        int length = 8 + 8 + 2 + 8 + 2 + 2 + players.length + 4 * 4 + 1
+                + 4 * players.length * scratch.getChessmenPerPlayer();
+        int index = 0;
+        for (String name : streams.keySet()) {
+            streamNames[index] = utf8(name);
+            length += 2 + streamNames[index].length + 8;
+            index++;
+        }
+        for (byte[] string : strings) {
+            length += 2 + string.length;
+        }
+        ensureCapacity(length);
+
+        // 写入与上次不同的槽位：内容、长度与校验和写完后再写序号
+        long nextSequence = sequence + 1;
+        int slotOffset = FILE_HEADER_SIZE + (int) (nextSequence & 1) * slotSize;
+        ByteBuffer out = buffer.duplicate();
+        out.position(slotOffset + SLOT_HEADER_SIZE);
+        out.putLong(random.getSeed());
+        out.putLong(random.getState());
+        out.putShort((short) streamNames.length);
+        index = 0;
+        for (RandomSource stream : streams.values()) {
+            putString(out, streamNames[index++]);
+            out.putLong(stream.getState());
+        }
+        out.putLong(mapProvider.getSeed());
+        for (int i = 0; i < 4; i++) {
+            putString(out, strings[i]);
+        }
+        out.putShort((short) players.length);
+        out.putShort((short) scratch.getChessmenPerPlayer());
+        for (int i = 0; i < players.length; i++) {
+            putString(out, strings[4 + i]);
+            out.put((byte) ((scratch.isWinner(i) ? PLAYER_WINNER : 0)
+                    | (players[i].getDecisionProvider() != null ? PLAYER_BOT : 0)));
+        }
+        out.putInt(scratch.getCurrentPlayerIndex());
+        out.putInt(scratch.getCurrentDiceValue());
+        out.putInt(scratch.getTurnNumber());
+        out.putInt(scratch.getWinnerIndex());
+        out.put((byte) ((scratch.hasExtraTurn() ? STATE_EXTRA_TURN : 0)
+                | (scratch.isGameOver() ? STATE_GAME_OVER : 0)));
+        for (int p = 0; p < players.length; p++) {
+            for (int c = 0; c < scratch.getChessmenPerPlayer(); c++) {
+                out.putInt(scratch.getPosition(p, c));
+            }
+        }
+
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(slotOffset + SLOT_HEADER_SIZE).limit(slotOffset + SLOT_HEADER_SIZE + length);
+        crc.reset();
+        crc.update(payload);
+        buffer.putInt(slotOffset + 8, length);
+        buffer.putInt(slotOffset + 12, (int) crc.getValue());
+        buffer.putLong(slotOffset, nextSequence);
+        sequence = nextSequence;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (buffer != null && length <= slotSize - SLOT_HEADER_SIZE) {
+            return;
+        }
+        int size = MIN_SLOT_SIZE;
+        while (size - SLOT_HEADER_SIZE < length * 2) {
+            size <<= 1;
+        }
+        slotSize = size;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_SIZE + 2L * slotSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putInt(8, slotSize);
+        // 槽位布局已变化，下一份存档写入位置不受槽位大小影响的第 0 个槽位
+        sequence = (sequence + 1) | 1;
+        buffer.putLong(FILE_HEADER_SIZE + slotSize, 0L);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    /**
+     * 读取存档
+     *
+     * @return 最近一次完整写入的存档
+     * @throws IOException 文件不是存档、版本不受支持或没有完整的存档
+     */
+    public static SavedGame load(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < FILE_HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("不是有效的存档文件");
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION && version != 1) {
+            throw new IOException("不支持的存档版本: " + version);
+        }
+        int slotSize = buffer.getInt(8);
+
+        ByteBuffer best = null;
+        long bestSequence = 0;
+        CRC32 crc = new CRC32();
+        for (int slot = 0; slot < 2; slot++) {
+            long offset = FILE_HEADER_SIZE + (long) slot * slotSize;
+            if (offset + SLOT_HEADER_SIZE > buffer.limit()) {
+                continue;
+            }
+            long slotSequence = buffer.getLong((int) offset);
+            int length = buffer.getInt((int) offset + 8);
+            int start = (int) offset + SLOT_HEADER_SIZE;
+            if (slotSequence <= bestSequence || length <= 0 || start + (long) length > buffer.limit()) {
+                continue;
+            }
+            ByteBuffer payload = buffer.duplicate();
+            payload.position(start).limit(start + length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() == buffer.getInt((int) offset + 12)) {
+                best = payload.slice();
+                bestSequence = slotSequence;
+            }
+        }
+        if (best == null) {
+            throw new IOException("存档中没有完整的对局数据");
+        }
+        return new SavedGame(best, version);
+    }
+
+    private static byte[] utf8(String value) {
+        return (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer out, byte[] bytes) {
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读出的存档，直接引用映射的文件内容
+     * 构造时只解析名称等变长字段，回合状态与棋子位置在恢复时按偏移读取。
+     */
+    public static final class SavedGame {
+        private final ByteBuffer data;
+        private final long randomSeed;
+        private final long randomState;
+        private final String[] streamNames;
+        private final long[] streamStates;
+        private final long mapSeed;
+        private final String mapName;
+        private final String mapVersion;
+        private final String ruleSetName;
+        private final String ruleSetVersion;
+        private final int chessmanCount;
+        private final String[] playerNames;
+        private final int[] playerFlags;
+        private final int stateOffset;
+
+        SavedGame(ByteBuffer data, int version) {
+            this.data = data;
+            ByteBuffer in = data.duplicate();
+            if (version == 1) {
+                // 旧随机源的状态无法换算，以其作为新随机源的种子，读档后的随机序列与存档时不同
+                randomSeed = in.getLong();
+                randomState = randomSeed;
+                streamNames = new String[0];
+                streamStates = new long[0];
+            } else {
+                randomSeed = in.getLong();
+                randomState = in.getLong();
+                streamNames = new String[in.getShort()];
+                streamStates = new long[streamNames.length];
+                for (int i = 0; i < streamNames.length; i++) {
+                    streamNames[i] = getString(in);
+                    streamStates[i] = in.getLong();
+                }
+            }
+            mapSeed = in.getLong();
+            mapName = getString(in);
+            mapVersion = getString(in);
+            ruleSetName = getString(in);
+            ruleSetVersion = getString(in);
+            int playerCount = in.getShort();
+            chessmanCount = in.getShort();
+            playerNames = new String[playerCount];
+            playerFlags = new int[playerCount];
+            for (int i = 0; i < playerCount; i++) {
+                playerNames[i] = getString(in);
+                playerFlags[i] = in.get();
+            }
+            stateOffset = in.position();
+        }
+
+        public String getMapName() {
+            return mapName;
+        }
+
+        public String getMapVersion() {
+            return mapVersion;
+        }
+
+        public long getMapSeed() {
+            return mapSeed;
+        }
+
+        public String getRuleSetName() {
+            return ruleSetName;
+        }
+
+        public String getRuleSetVersion() {
+            return ruleSetVersion;
+        }
+
+        public int getPlayerCount() {
+            return playerNames.length;
+        }
+
+        public int getChessmanCount() {
+            return chessmanCount;
+        }
+
+        public String getPlayerName(int player) {
+            return playerNames[player];
+        }
+
+        public boolean isBot(int player) {
+            return (playerFlags[player] & PLAYER_BOT) != 0;
+        }
+
+        public int getTurnNumber() {
+            return data.getInt(stateOffset + 8);
+        }
+
+        /**
+         * 按存档创建玩家，存档时由电脑担任的玩家仍为电脑玩家
+         *
+         * @param decisionProvider 电脑玩家的决策提供者，为 null 时全部创建为普通玩家
+         */
+        public IPlayer[] createPlayers(IDecisionProvider decisionProvider) {
+            IPlayer[] players = new IPlayer[playerNames.length];
+            for (int i = 0; i < players.length; i++) {
+                players[i] = isBot(i) && decisionProvider != null
+                        ? new BotPlayer(playerNames[i], i, chessmanCount, decisionProvider)
+                        : new Player(playerNames[i], i, chessmanCount);
+            }
+            return players;
+        }
+
+        /**
+         * 把存档载入已按本存档初始化好玩家的对局（静默，不触发事件与方块效果）
+         */
+        public void restore(GameContext context) {
+            IPlayer[] players = context.getPlayers();
+            if (players == null || players.length != playerNames.length) {
+                throw new IllegalArgumentException("存档的玩家数与对局不一致");
+            }
+            GameSnapshot snapshot = GameSnapshot.of(context);
+            if (snapshot.getChessmenPerPlayer() != chessmanCount) {
+                throw new IllegalArgumentException("存档的棋子数与对局不一致");
+            }
+            int offset = stateOffset;
+            snapshot.setCurrentPlayerIndex(data.getInt(offset));
+            snapshot.setCurrentDiceValue(data.getInt(offset + 4));
+            snapshot.setTurnNumber(data.getInt(offset + 8));
+            snapshot.setWinnerIndex(data.getInt(offset + 12));
+            int flags = data.get(offset + 16);
+            snapshot.setExtraTurn((flags & STATE_EXTRA_TURN) != 0);
+            snapshot.setGameOver((flags & STATE_GAME_OVER) != 0);
+            offset += 17;
+            for (int p = 0; p < players.length; p++) {
+                snapshot.setWinner(p, (playerFlags[p] & PLAYER_WINNER) != 0);
+                for (int c = 0; c < chessmanCount; c++) {
+                    snapshot.setPosition(p, c, data.getInt(offset));
+                    offset += 4;
+                }
+            }
+            snapshot.restore(context);
+            RandomSource random = context.getRandomSource();
+            random.setSeed(randomSeed);
+            random.setState(randomState);
+            for (int i = 0; i < streamNames.length; i++) {
+                random.stream(streamNames[i]).setState(streamStates[i]);
+            }
+            context.getDice().discard();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package game.engine;
+
+import game.api.IGameContext;
+
+/**
+ * 供渲染线程读取的对局副本，按快照双缓冲更新
+ * 引擎线程每次移动后调用 capture()，把局面写入共享快照，只复制基本类型数组，不分配对象；
+ * 渲染线程调用 take() 把最新的快照复制到自己的快照中，再载入一份只属于渲染线程的对局副本。
+ * 副本的玩家、棋子、棋盘与位置索引在创建时建好一次，此后每次只静默移动其中的棋子。
+ * 副本只在渲染线程上修改，界面另起线程读取时（如 JavaFX 线程）至多看到上一帧与下一帧之间的局面。
+ */
+public final class SnapshotView {
+    private final GameContext live;
+    private final GameSnapshot shared;
+    private final GameSnapshot local;
+    private final GameContext view;
+    private boolean fresh; // 共享快照是否有尚未取走的新局面，由 shared 的锁保护
+
+    /**
+     * 需要在引擎线程上、玩家已经设置之后创建
+     */
+    public SnapshotView(GameContext live) {
+        this.live = live;
+        this.shared = GameSnapshot.of(live);
+        this.local = shared.copy();
+        this.view = local.createView(live);
+    }
+
+    /**
+     * 引擎线程调用：保存当前局面
+     */
+    public void capture() {
+        synchronized (shared) {
+            shared.capture(live);
+            fresh = true;
+        }
+    }
+
+    /**
+     * 渲染线程调用：有新局面时载入副本并返回，否则返回 null
+     */
+    public IGameContext take() {
+        synchronized (shared) {
+            if (!fresh) {
+                return null;
+            }
+            local.copyFrom(shared);
+            fresh = false;
+        }
+        local.restore(view);
+        return view;
+    }
+}
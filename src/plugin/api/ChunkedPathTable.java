@@ -0,0 +1,176 @@
+package plugin.api;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按需分块生成的路径视图，用于十万乃至百万格的超大地图
+ * 路径按蛇形排列在固定宽度的网格上（偶数行从左到右，奇数行从右到左），坐标直接由算式得出；
+ * 方块按块（chunk）生成，每格只存一个字节的方块编号，编号对应 palette 中共享的方块实例。
+ * 某一块在第一次被查询时才调用 ChunkGenerator 生成，因此首回合不必等待整张地图，
+ * 内存只随实际访问到的路径长度增长，与网格面积无关。
+ * 生成器必须只依赖块编号（及地图自身的种子），多个线程同时生成同一块时只保留先完成的结果。
+ * getNode 每次调用都会创建新的 Node，频繁访问的地方应使用 getBlock。
+ */
+public class ChunkedPathTable extends PathTable {
+
+    /**
+     * 块生成器
+     */
+    @FunctionalInterface
+    public interface ChunkGenerator {
+        /**
+         * 生成一块路径的方块编号
+         *
+         * @param chunk 块编号
+         * @param from  本块第一格的位置
+         * @param codes 待填写的方块编号，codes[i] 对应位置 from + i，编号是 palette 的下标
+         */
+        void generate(int chunk, int from, byte[] codes);
+    }
+
+    private final int size;
+    private final int width;
+    private final int chunkBits;
+    private final IBlock[] palette;
+    private final ChunkGenerator generator;
+    private final AtomicReferenceArray<byte[]> chunks;
+    private final AtomicInteger generatedChunks = new AtomicInteger();
+
+    /**
+     * @param size      路径长度（位置 0 到 size - 1）
+     * @param width     网格宽度（列数）
+     * @param chunkBits 每块 2^chunkBits 格
+     * @param palette   方块编号到方块实例的映射，实例在所有格子间共享，至多 128 种
+     * @param generator 块生成器
+     */
+    public ChunkedPathTable(int size, int width, int chunkBits, IBlock[] palette, ChunkGenerator generator) {
+        super(width, (size + width - 1) / width);
+        if (size <= 0 || width <= 0) {
+            throw new IllegalArgumentException("路径长度与网格宽度必须为正数");
+        }
+        if (chunkBits < 4 || chunkBits > 20) {
+            throw new IllegalArgumentException("块大小必须在 2^4 到 2^20 格之间");
+        }
+        if (palette == null || palette.length == 0 || palette.length > Byte.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("方块种类必须在 1-128 之间");
+        }
+        this.size = size;
+        this.width = width;
+        this.chunkBits = chunkBits;
+        this.palette = palette.clone();
+        this.generator = generator;
+        this.chunks = new AtomicReferenceArray<>(((size - 1) >>> chunkBits) + 1);
+    }
+
+    private byte[] chunk(int index) {
+        byte[] codes = chunks.get(index);
+        if (codes == null) {
+            int from = index << chunkBits;
+            byte[] generated = new byte[Math.min(1 << chunkBits, size - from)];
+            generator.generate(index, from, generated);
+            if (chunks.compareAndSet(index, null, generated)) {
+                generatedChunks.incrementAndGet();
+                codes = generated;
+            } else {
+                codes = chunks.get(index);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * 该位置的方块编号，不在路径上时为 -1
+     */
+    public int getCode(int position) {
+        if (position < 0 || position >= size) {
+            return -1;
+        }
+        return chunk(position >>> chunkBits)[position & ((1 << chunkBits) - 1)];
+    }
+
+    /**
+     * 方块编号对应的方块实例
+     */
+    public IBlock getPaletteBlock(int code) {
+        return palette[code];
+    }
+
+    /**
+     * 方块种类数
+     */
+    public int getPaletteSize() {
+        return palette.length;
+    }
+
+    /**
+     * 路径的总块数
+     */
+    public int getChunkCount() {
+        return chunks.length();
+    }
+
+    /**
+     * 每块的格数
+     */
+    public int getChunkSize() {
+        return 1 << chunkBits;
+    }
+
+    /**
+     * 已经生成的块数
+     */
+    public int getGeneratedChunks() {
+        return generatedChunks.get();
+    }
+
+    @Override
+    public boolean isCompiledFrom(Node[][] map) {
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int position) {
+        return position >= 0 && position < size;
+    }
+
+    @Override
+    public IBlock getBlock(int position) {
+        int code = getCode(position);
+        return code >= 0 ? palette[code] : null;
+    }
+
+    @Override
+    public Node getNode(int position) {
+        IBlock block = getBlock(position);
+        return block != null ? new Node(position, block) : null;
+    }
+
+    @Override
+    public int getX(int position) {
+        if (position < 0 || position >= size) {
+            return -1;
+        }
+        int column = position % width;
+        return (position / width) % 2 == 0 ? column : width - 1 - column;
+    }
+
+    @Override
+    public int getY(int position) {
+        return position >= 0 && position < size ? position / width : -1;
+    }
+
+    @Override
+    public int positionAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= width) {
+            return -1;
+        }
+        long position = (long) y * width + (y % 2 == 0 ? x : width - 1 - x);
+        return position < size ? (int) position : -1;
+    }
+}
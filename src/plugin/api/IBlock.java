@@ -14,4 +14,35 @@ public interface IBlock {
     Colors getColor();
 
     String getTUISymbol();
+
+    /**
+     * 方块效果是否只由点数决定：不取随机数、不询问玩家，除移动棋子与发布提示消息外没有其他副作用
+     * 返回 true 时 onLand 的效果必须等价于按 getLandingSteps 移动棋子，
+     * 引擎据此为批量模拟预先计算落点结算表，跳过逐个事件的连锁处理。
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
+    /**
+     * 确定性方块的效果：落到此方块后棋子移动的步数（正数前进，负数后退，0 表示不动）
+     *
+     * @param diceValue 本回合的骰子点数
+     */
+    default int getLandingSteps(int diceValue) {
+        return 0;
+    }
+
+    /**
+     * 非确定性方块效果的概率模型，供解析评估使用（见 LandingOutcomes）
+     * 按 onLand 的实际行为把棋子的各种去向及其概率写入 outcomes，概率之和应为 1。
+     * 确定性方块无需实现；返回 false 表示没有模型，评估时按无效果处理。
+     *
+     * @param position    落点
+     * @param diceValue   本回合的骰子点数
+     * @param endPosition 棋子所属玩家的终点
+     */
+    default boolean describeLanding(int position, int diceValue, int endPosition, LandingOutcomes outcomes) {
+        return false;
+    }
 }
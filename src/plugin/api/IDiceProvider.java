@@ -0,0 +1,45 @@
+package plugin.api;
+
+import game.api.IRandomSource;
+
+/**
+ * 骰子扩展点，由规则集通过 IRuleSetProvider.getDiceProvider() 提供
+ * 可以自定义面数、权重（灌铅骰子）或多个骰子求和。
+ * 引擎按批预生成点数，实现应当无状态，随机数只从传入的随机流中获取。
+ */
+public interface IDiceProvider {
+
+    /**
+     * 掷一次骰子
+     *
+     * @param random 本局的骰子随机流
+     * @return 点数
+     */
+    int roll(IRandomSource random);
+
+    /**
+     * 批量掷骰，把结果依次写入 rolls
+     * 结果与消耗的随机数必须与连续调用 rolls.length 次 roll() 完全相同，
+     * 引擎依赖这一点在存档时丢弃尚未使用的预生成点数。
+     */
+    default void fill(int[] rolls, IRandomSource random) {
+        for (int i = 0; i < rolls.length; i++) {
+            rolls[i] = roll(random);
+        }
+    }
+
+    /**
+     * 可能掷出的最小点数
+     */
+    int getMinValue();
+
+    /**
+     * 可能掷出的最大点数
+     */
+    int getMaxValue();
+
+    /**
+     * 掷出指定点数的概率，超出范围时为 0
+     */
+    double getProbability(int value);
+}
@@ -9,14 +9,45 @@ public interface IMapProvider extends IPlugin {
 
     Node[][] getMap();
 
+    /**
+     * 按位置下标编译的路径视图，引擎结算落点与界面绘制都通过它访问方块与坐标
+     * 默认实现每次调用都从 getMap() 重新编译。引擎在设置地图时只取用一次，
+     * 整局通过 IGameContext.getPathTable() 复用；插件内部频繁使用时仍应自行缓存，
+     * 并在地图重新生成后丢弃。
+     */
+    default PathTable getPathTable() {
+        return PathTable.compile(getMap());
+    }
+
     int getMapSize();
 
     int getDifficulty();
 
     int getRecommendedPlayers();
 
+    /**
+     * 位置对应的网格坐标 {x, y}，无效位置为 {-1, -1}
+     * 每次调用都会分配数组，频繁调用的地方应使用 positionToX / positionToY 或路径表。
+     */
     int[] positionToXY(int position);
 
+    /**
+     * 位置对应的列，无效位置为 -1
+     * 默认实现取 positionToXY 的结果，会分配数组；地图提供者应以算式或预先计算的表覆盖，
+     * 引擎内部则直接查询 IGameContext.getPathTable()。
+     * positionToXY 若以 positionToX / positionToY 实现，必须同时覆盖这两个方法，否则会互相递归。
+     */
+    default int positionToX(int position) {
+        return positionToXY(position)[0];
+    }
+
+    /**
+     * 位置对应的行，无效位置为 -1，默认实现同 positionToX
+     */
+    default int positionToY(int position) {
+        return positionToXY(position)[1];
+    }
+
     int getStartPosition(int playerIndex);
 
     int getEndPosition(int playerIndex);
@@ -30,4 +61,18 @@ public interface IMapProvider extends IPlugin {
     Colors[] getPlayerColors();
 
     String[] getPlayerColorsName();
+
+    /**
+     * 生成地图所用的种子，地图固定不变的提供者返回 0
+     */
+    default long getSeed() {
+        return 0L;
+    }
+
+    /**
+     * 按指定种子重新生成地图，回放录像时用来还原录制时的地图
+     * 地图固定不变的提供者无需实现
+     */
+    default void setSeed(long seed) {
+    }
 }
@@ -19,4 +19,11 @@ public interface IRuleSetProvider extends IPlugin {
     IOverEndRule getOverEndRule();
 
     int getMaxBlockEffectDepth();
+
+    /**
+     * 本规则集使用的骰子，返回 null 时使用均匀的六面骰子
+     */
+    default IDiceProvider getDiceProvider() {
+        return null;
+    }
 }
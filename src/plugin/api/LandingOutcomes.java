@@ -0,0 +1,62 @@
+package plugin.api;
+
+import java.util.Arrays;
+
+/**
+ * 方块效果的概率模型：落到方块后棋子的各种去向及其概率
+ * 由 IBlock.describeLanding 填写，供解析评估（见 game.engine.MarkovEvaluator）使用。
+ * 去向与落点相同表示棋子不动；否则视为移动到新位置（-1 为待起飞区），并在新位置继续结算方块效果。
+ */
+public final class LandingOutcomes {
+    private double[] probabilities = new double[8];
+    private int[] positions = new int[8];
+    private boolean[] extraTurns = new boolean[8];
+    private int size;
+
+    /**
+     * 添加一种去向
+     */
+    public void add(double probability, int position) {
+        add(probability, position, false);
+    }
+
+    /**
+     * 添加一种去向
+     *
+     * @param extraTurn 该去向是否让玩家获得额外回合
+     */
+    public void add(double probability, int position, boolean extraTurn) {
+        if (probability <= 0) {
+            return;
+        }
+        if (size == positions.length) {
+            probabilities = Arrays.copyOf(probabilities, size * 2);
+            positions = Arrays.copyOf(positions, size * 2);
+            extraTurns = Arrays.copyOf(extraTurns, size * 2);
+        }
+        probabilities[size] = probability;
+        positions[size] = position;
+        extraTurns[size] = extraTurn;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getProbability(int index) {
+        return probabilities[index];
+    }
+
+    public int getPosition(int index) {
+        return positions[index];
+    }
+
+    public boolean grantsExtraTurn(int index) {
+        return extraTurns[index];
+    }
+}
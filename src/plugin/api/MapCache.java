@@ -0,0 +1,227 @@
+package plugin.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 生成地图的本地磁盘缓存
+ * 按 (提供者, 版本, 种子, 路径长度, 玩家数) 为键，保存地图的方块布局：每个位置一个字节的方块编号，
+ * 编号的含义由地图提供者自行定义（随提供者版本变化）。
+ * 同一 (提供者, 版本, 路径长度, 玩家数) 的所有种子存放在同一个包文件中，
+ * 文件头之后是定长记录（种子 + 方块编号），只追加不改写。
+ * 包文件在进程内只用内存映射打开一次，并建立种子到记录的索引，之后每次查询只是一次哈希查找，
+ * 批量模拟反复使用同一批种子时不再逐个打开文件。
+ * 缓存只是加速手段：文件缺失、损坏或与键不符时视为未命中，由提供者重新生成并写回。
+ * 默认关闭，通过 setDefault 启用（命令行参数 --map-cache）。
+ */
+public final class MapCache {
+    private static final int MAGIC = 0x41434D43; // "ACMC"
+    private static final int FORMAT_VERSION = 1;
+
+    private static volatile MapCache defaultCache;
+
+    private final Path directory;
+    private final Map<String, Pack> packs = new ConcurrentHashMap<>();
+
+    public MapCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 地图提供者使用的全局缓存，未启用时为 null
+     */
+    public static MapCache getDefault() {
+        return defaultCache;
+    }
+
+    public static void setDefault(MapCache cache) {
+        defaultCache = cache;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 缓存键
+     */
+    public static final class Key {
+        private final String provider;
+        private final String version;
+        private final long seed;
+        private final int pathLength;
+        private final int playerCount;
+
+        public Key(String provider, String version, long seed, int pathLength, int playerCount) {
+            this.provider = provider;
+            this.version = version;
+            this.seed = seed;
+            this.pathLength = pathLength;
+            this.playerCount = playerCount;
+        }
+
+        /**
+         * 包文件名，提供者名与版本中的特殊字符替换为下划线；完整的参数另存于文件头中用于校验
+         */
+        String packName() {
+            return sanitize(provider) + "-" + sanitize(version) + "-" + pathLength + "-" + playerCount + ".maps";
+        }
+
+        private static String sanitize(String text) {
+            StringBuilder name = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                boolean safe = c < 128 && (Character.isLetterOrDigit(c) || c == '.' || c == '_');
+                name.append(safe ? c : '_');
+            }
+            return name.toString();
+        }
+    }
+
+    /**
+     * 读取缓存的方块布局
+     *
+     * @return 只读的方块编号缓冲区（下标为位置），未命中时返回 null
+     */
+    public ByteBuffer load(Key key) {
+        Pack pack = packs.computeIfAbsent(key.packName(), name -> new Pack(directory.resolve(name), key));
+        return pack.load(key.seed);
+    }
+
+    /**
+     * 追加一条方块布局，写入失败只打印警告，不影响对局
+     *
+     * @param codes 方块编号，长度必须等于键中的路径长度
+     */
+    public void store(Key key, byte[] codes) {
+        Pack pack = packs.computeIfAbsent(key.packName(), name -> new Pack(directory.resolve(name), key));
+        pack.store(key.seed, codes);
+    }
+
+    /**
+     * 一个包文件：内存映射的只读视图与种子索引，文件变长后在下次未命中时重新映射
+     */
+    private static final class Pack {
+        private final Path file;
+        private final byte[] header;
+        private final int recordLength;
+
+        private MappedByteBuffer mapped;
+        private long indexedSize;
+        private final Map<Long, Integer> offsets = new HashMap<>();
+        private boolean broken;
+
+        Pack(Path file, Key key) {
+            this.file = file;
+            this.recordLength = key.pathLength;
+            byte[] provider = key.provider.getBytes(StandardCharsets.UTF_8);
+            byte[] version = key.version.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(20 + provider.length + version.length);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION);
+            buffer.putShort((short) provider.length).put(provider);
+            buffer.putShort((short) version.length).put(version);
+            buffer.putInt(key.pathLength).putInt(key.playerCount);
+            this.header = buffer.array();
+        }
+
+        synchronized ByteBuffer load(long seed) {
+            Integer offset = offsets.get(seed);
+            if (offset == null && !broken && refresh()) {
+                offset = offsets.get(seed);
+            }
+            if (offset == null) {
+                return null;
+            }
+            ByteBuffer record = mapped.duplicate();
+            record.position(offset).limit(offset + recordLength);
+            return record.slice().asReadOnlyBuffer();
+        }
+
+        /**
+         * 文件比已索引的部分长时重新映射，并把新增的完整记录加入索引
+         *
+         * @return 是否有新的记录
+         */
+        private boolean refresh() {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size <= indexedSize || size > Integer.MAX_VALUE) {
+                    return false;
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (indexedSize == 0) {
+                    if (size < header.length || !buffer.slice(0, header.length).equals(ByteBuffer.wrap(header))) {
+                        System.err.println("[WARNING] 地图缓存文件头与参数不符，不再使用: " + file);
+                        broken = true;
+                        return false;
+                    }
+                    indexedSize = header.length;
+                }
+                int recordSize = Long.BYTES + recordLength;
+                long position = indexedSize;
+                while (position + recordSize <= size) {
+                    offsets.put(buffer.getLong((int) position), (int) position + Long.BYTES);
+                    position += recordSize;
+                }
+                mapped = buffer;
+                boolean added = position > indexedSize;
+                indexedSize = position;
+                return added;
+            } catch (NoSuchFileException e) {
+                return false;
+            } catch (IOException e) {
+                System.err.println("[WARNING] 地图缓存读取失败: " + file + " (" + e.getMessage() + ")");
+                broken = true;
+                return false;
+            }
+        }
+
+        /**
+         * 在文件锁保护下追加记录；文件末尾有上次中断留下的不完整记录时先截掉
+         */
+        synchronized void store(long seed, byte[] codes) {
+            if (broken || codes.length != recordLength) {
+                return;
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        long size = channel.size();
+                        if (size < header.length) {
+                            channel.truncate(0);
+                            channel.write(ByteBuffer.wrap(header), 0);
+                            size = header.length;
+                        }
+                        int recordSize = Long.BYTES + recordLength;
+                        long end = header.length + (size - header.length) / recordSize * recordSize;
+                        if (end != size) {
+                            channel.truncate(end);
+                        }
+                        ByteBuffer record = ByteBuffer.allocate(recordSize);
+                        record.putLong(seed).put(codes).flip();
+                        channel.write(record, end);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("[WARNING] 地图缓存写入失败，本次运行不再写入: " + file + " (" + e.getMessage() + ")");
+                broken = true;
+            }
+        }
+    }
+}
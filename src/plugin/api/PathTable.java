@@ -0,0 +1,164 @@
+package plugin.api;
+
+import java.util.Arrays;
+
+/**
+ * 地图路径的编译视图：按位置下标存放方块、节点与坐标
+ * 由 getMap() 的二维网格编译而来，只包含路径上的格子（position >= 0），
+ * 引擎结算落点时只需一次数组访问，界面绘制时也不必扫描整个网格与空白格。
+ * 编译后不再变化，可以被多个线程同时读取。
+ * 超大地图可以改用按需生成方块、不物化网格的子类（见 ChunkedPathTable）。
+ */
+public class PathTable {
+    private final Node[][] source;
+    private final Node[] nodes;
+    private final IBlock[] blocks;
+    private final int[] xs;
+    private final int[] ys;
+    private final int width;
+    private final int height;
+    // 下标为 y * width + x，不在路径上的格子为 -1
+    private final int[] cellPositions;
+
+    private PathTable(Node[][] source, Node[] nodes, int[] xs, int[] ys, int width, int height,
+            int[] cellPositions) {
+        this.source = source;
+        this.nodes = nodes;
+        this.xs = xs;
+        this.ys = ys;
+        this.width = width;
+        this.height = height;
+        this.cellPositions = cellPositions;
+        this.blocks = new IBlock[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            blocks[i] = nodes[i] != null ? nodes[i].getBlock() : null;
+        }
+    }
+
+    /**
+     * 供按需生成路径的子类使用：不持有编译结果，子类需覆盖按位置查询的各个方法
+     */
+    protected PathTable(int width, int height) {
+        this(null, new Node[0], new int[0], new int[0], width, height, new int[0]);
+    }
+
+    /**
+     * 从二维网格编译路径视图
+     *
+     * @param map 地图网格，下标为 [y][x]
+     */
+    public static PathTable compile(Node[][] map) {
+        int height = map != null ? map.length : 0;
+        int width = 0;
+        int size = 0;
+        for (int y = 0; y < height; y++) {
+            if (map[y] == null) {
+                continue;
+            }
+            width = Math.max(width, map[y].length);
+            for (Node node : map[y]) {
+                if (node != null && node.getPosition() >= 0) {
+                    size = Math.max(size, node.getPosition() + 1);
+                }
+            }
+        }
+
+        Node[] nodes = new Node[size];
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        Arrays.fill(xs, -1);
+        Arrays.fill(ys, -1);
+        int[] cellPositions = new int[width * height];
+        Arrays.fill(cellPositions, -1);
+        for (int y = 0; y < height; y++) {
+            if (map[y] == null) {
+                continue;
+            }
+            for (int x = 0; x < map[y].length; x++) {
+                Node node = map[y][x];
+                if (node == null || node.getPosition() < 0) {
+                    continue;
+                }
+                int position = node.getPosition();
+                nodes[position] = node;
+                xs[position] = x;
+                ys[position] = y;
+                cellPositions[y * width + x] = position;
+            }
+        }
+        return new PathTable(map, nodes, xs, ys, width, height, cellPositions);
+    }
+
+    /**
+     * 是否由该网格编译而来，地图重新生成后据此判断是否需要重新编译
+     */
+    public boolean isCompiledFrom(Node[][] map) {
+        return source == map;
+    }
+
+    /**
+     * 位置下标的上界（最大位置 + 1）
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * 该位置是否在路径上
+     */
+    public boolean contains(int position) {
+        return position >= 0 && position < nodes.length && nodes[position] != null;
+    }
+
+    /**
+     * 该位置的方块，不在路径上时为 null
+     */
+    public IBlock getBlock(int position) {
+        return position >= 0 && position < blocks.length ? blocks[position] : null;
+    }
+
+    /**
+     * 该位置的节点，不在路径上时为 null
+     */
+    public Node getNode(int position) {
+        return position >= 0 && position < nodes.length ? nodes[position] : null;
+    }
+
+    /**
+     * 该位置所在的列，不在路径上时为 -1
+     */
+    public int getX(int position) {
+        return position >= 0 && position < xs.length ? xs[position] : -1;
+    }
+
+    /**
+     * 该位置所在的行，不在路径上时为 -1
+     */
+    public int getY(int position) {
+        return position >= 0 && position < ys.length ? ys[position] : -1;
+    }
+
+    /**
+     * 网格宽度（列数）
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 网格高度（行数）
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 网格中 (x, y) 处的位置，不在路径上时为 -1
+     */
+    public int positionAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return -1;
+        }
+        return cellPositions[y * width + x];
+    }
+}
@@ -0,0 +1,162 @@
+package plugin.api;
+
+import game.api.IRandomSource;
+
+import java.util.Arrays;
+
+/**
+ * 基于别名表 (Vose alias method) 的骰子，每次掷骰 O(1)
+ * 支持任意面数、带权重的面以及多个相同骰子求和（求和的分布预先卷积成一张别名表）。
+ * 每次掷骰恰好消耗一个 nextLong()：高位选列，剩余的低位与该列的阈值比较。
+ */
+public final class WeightedDice implements IDiceProvider {
+    private static final int MAX_VALUES = 1 << 10;
+    private static final long FRACTION_MASK = (1L << 53) - 1;
+    private static final double FRACTION_UNIT = 0x1.0p-53;
+
+    private final int minValue;
+    private final double[] distribution;
+    private final double[] threshold;
+    private final int[] alias;
+
+    private WeightedDice(int minValue, double[] distribution) {
+        int n = distribution.length;
+        if (n > MAX_VALUES) {
+            throw new IllegalArgumentException("骰子的点数种类过多: " + n);
+        }
+        this.minValue = minValue;
+        this.distribution = distribution;
+        this.threshold = new double[n];
+        this.alias = new int[n];
+        buildAliasTable();
+    }
+
+    /**
+     * 均匀的 faces 面骰子，点数 1 - faces
+     */
+    public static WeightedDice uniform(int faces) {
+        double[] weights = new double[faces];
+        Arrays.fill(weights, 1.0);
+        return of(1, weights);
+    }
+
+    /**
+     * 带权重的骰子，weights[i] 为点数 i+1 的相对权重
+     */
+    public static WeightedDice weighted(double... weights) {
+        return of(1, weights);
+    }
+
+    /**
+     * count 个相同骰子的点数之和，faceWeights[i] 为单个骰子点数 i+1 的相对权重
+     */
+    public static WeightedDice of(int count, double... faceWeights) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("骰子数量必须为正数");
+        }
+        if (faceWeights == null || faceWeights.length == 0) {
+            throw new IllegalArgumentException("骰子至少要有一个面");
+        }
+        double total = 0;
+        for (double weight : faceWeights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("权重必须为非负有限数");
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("权重之和必须为正数");
+        }
+        double[] face = new double[faceWeights.length];
+        for (int i = 0; i < face.length; i++) {
+            face[i] = faceWeights[i] / total;
+        }
+        // 逐个卷积得到点数之和的分布，下标 0 对应最小点数 count
+        double[] sum = face;
+        for (int d = 1; d < count; d++) {
+            double[] next = new double[sum.length + face.length - 1];
+            for (int i = 0; i < sum.length; i++) {
+                for (int j = 0; j < face.length; j++) {
+                    next[i + j] += sum[i] * face[j];
+                }
+            }
+            sum = next;
+        }
+        return new WeightedDice(count, sum);
+    }
+
+    private void buildAliasTable() {
+        int n = distribution.length;
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = distribution[i] * n;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            threshold[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // 剩余的列（含浮点误差造成的残留）概率视为 1
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            threshold[i] = 1.0;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            threshold[i] = 1.0;
+            alias[i] = i;
+        }
+    }
+
+    @Override
+    public int roll(IRandomSource random) {
+        long bits = (random.nextLong() >>> 11) * threshold.length;
+        int column = (int) (bits >>> 53);
+        double fraction = (bits & FRACTION_MASK) * FRACTION_UNIT;
+        return minValue + (fraction < threshold[column] ? column : alias[column]);
+    }
+
+    @Override
+    public void fill(int[] rolls, IRandomSource random) {
+        int n = threshold.length;
+        for (int i = 0; i < rolls.length; i++) {
+            long bits = (random.nextLong() >>> 11) * n;
+            int column = (int) (bits >>> 53);
+            double fraction = (bits & FRACTION_MASK) * FRACTION_UNIT;
+            rolls[i] = minValue + (fraction < threshold[column] ? column : alias[column]);
+        }
+    }
+
+    @Override
+    public int getMinValue() {
+        return minValue;
+    }
+
+    @Override
+    public int getMaxValue() {
+        return minValue + distribution.length - 1;
+    }
+
+    @Override
+    public double getProbability(int value) {
+        int index = value - minValue;
+        return index < 0 || index >= distribution.length ? 0.0 : distribution[index];
+    }
+}
@@ -2,6 +2,7 @@ package ui.api;
 
 import game.api.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface IUserInterface {
 
@@ -13,12 +14,31 @@ public interface IUserInterface {
 
     void update();
 
+    /**
+     * 按给定的局面刷新显示，由渲染通道调用
+     * view 是渲染线程从快照载入的对局副本（见 SnapshotView），渲染期间引擎可以继续修改对局本身。
+     * 默认实现忽略 view，刷新当前对局。
+     */
+    default void update(IGameContext view) {
+        update();
+    }
+
     void displayMessage(String message);
 
     void displayError(String error);
 
     int getUserChoice(String prompt, List<String> options);
 
+    /**
+     * 异步询问用户选择：立即返回，用户作出选择后 future 以所选下标完成
+     * 默认实现直接调用阻塞的 getUserChoice，返回时 future 已经完成；
+     * 能在回调中拿到结果的界面（如 GUI）应覆盖此方法，使引擎在等待期间不占用线程。
+     * 只作展示、不关心结果的提示也可以调用此方法并忽略返回值。
+     */
+    default CompletableFuture<Integer> requestChoice(String prompt, List<String> options) {
+        return CompletableFuture.completedFuture(getUserChoice(prompt, options));
+    }
+
     String getUserInput(String prompt);
 
     boolean confirm(String message);
@@ -5,7 +5,9 @@ import javafx.application.Platform;
 import javafx.stage.Stage;
 import ui.api.IUserInterface;
 import game.api.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 
 public class GUI extends Application implements IUserInterface {
@@ -62,11 +64,12 @@ public class GUI extends Application implements IUserInterface {
 
     @Override
     public void initialize(IGameContext context) {
+        this.gameContext = context;
         CountDownLatch initLatch = new CountDownLatch(1);
         Platform.runLater(() -> {
             try {
                 System.out.println("[DEBUG] 开始创建GameWindow...");
-                gameWindow = new GameWindow();
+                gameWindow = new GameWindow(context);
                 System.out.println("[DEBUG] GameWindow创建完成");
 
                 primaryStage.setScene(gameWindow.getScene());
@@ -77,7 +80,7 @@ public class GUI extends Application implements IUserInterface {
 
                 System.out.println("[DEBUG] 窗口配置完成");
                 gameWindow.showMessage("GUI 初始化完成", false);
-                subscribeToGameEvents();
+                subscribeToGameEvents(context);
             } catch (Exception e) {
                 System.err.println("[ERROR] GameWindow初始化失败: " + e.getMessage());
                 e.printStackTrace();
@@ -94,31 +97,20 @@ public class GUI extends Application implements IUserInterface {
         }
     }
 
-    private void subscribeToGameEvents() {
-        IEventBus eventBus = game.engine.EventBus.getInstance();
-        eventBus.subscribe("ChessmanMoveEasing", event -> {
-            java.util.Map<String, Object> data = event.getData();
-            if (data != null) {
-                IChessman chessman = (IChessman) data.get("chessman");
-                Integer fromPos = (Integer) data.get("from");
-                Integer toPos = (Integer) data.get("to");
-
-                if (chessman != null && fromPos != null && toPos != null) {
-                    java.util.List<Integer> path = generatePath(fromPos, toPos);
-                    String chessmanId = chessman.getOwner().getName() + "_" + chessman.getChessmanId();
-                    Platform.runLater(() -> {
-                        if (gameWindow != null) {
-                            gameWindow.getMapRenderer().animateChessmanMove(chessmanId, fromPos, toPos, path);
-                        }
-                    });
-                }
+    private void subscribeToGameEvents(IGameContext context) {
+        IEventBus eventBus = context.getEventBus();
+        // 动画路径与提示消息不能丢失，放在不丢事件的 BACKGROUND 通道上；处理只是入队，不阻塞通道
+        eventBus.subscribe(EventType.CHESSMAN_PATH_MOVED, event -> {
+            if (event instanceof GameEvents.ChessmanPathMoved && gameWindow != null) {
+                GameEvents.ChessmanPathMoved moved = (GameEvents.ChessmanPathMoved) event;
+                IChessman chessman = moved.getChessman();
+                String chessmanId = chessman.getOwner().getName() + "_" + chessman.getChessmanId();
+                gameWindow.getMapRenderer().animateChessmanMove(chessmanId, moved.getPath());
             }
-        });
-        eventBus.subscribe("BlockEffect", event -> {
-            @SuppressWarnings("unchecked")
-            java.util.Map<String, Object> data = (java.util.Map<String, Object>) event.getData();
-            if (data != null) {
-                String message = (String) data.get("message");
+        }, IEventBus.Lane.BACKGROUND);
+        eventBus.subscribe(EventType.BLOCK_EFFECT, event -> {
+            if (event instanceof GameEvents.BlockEffect) {
+                String message = ((GameEvents.BlockEffect) event).getMessage();
                 if (message != null) {
                     Platform.runLater(() -> {
                         if (gameWindow != null) {
@@ -127,22 +119,7 @@ public class GUI extends Application implements IUserInterface {
                     });
                 }
             }
-        });
-    }
-
-    private java.util.List<Integer> generatePath(int from, int to) {
-        java.util.List<Integer> path = new java.util.ArrayList<>();
-        if (from < to) {
-            for (int i = from; i <= to; i++) {
-                path.add(i);
-            }
-        } else {
-            for (int i = from; i >= to; i--) {
-                path.add(i);
-            }
-        }
-
-        return path;
+        }, IEventBus.Lane.BACKGROUND);
     }
 
     @Override
@@ -184,9 +161,14 @@ public class GUI extends Application implements IUserInterface {
 
     @Override
     public void update() {
+        update(this.gameContext);
+    }
+
+    @Override
+    public void update(IGameContext view) {
         Platform.runLater(() -> {
             if (gameWindow != null) {
-                gameWindow.update(this.gameContext);
+                gameWindow.update(view);
             }
         });
     }
@@ -211,25 +193,25 @@ public class GUI extends Application implements IUserInterface {
 
     @Override
     public int getUserChoice(String prompt, List<String> options) {
-        responseLatch = new CountDownLatch(1);
-        userResponse = null;
+        return requestChoice(prompt, options).join();
+    }
+
+    /**
+     * 在嵌入式面板中显示选项，玩家点击后在 JavaFX 线程上完成 future
+     * 选项先复制一份，调用方在对话框显示前修改列表也不受影响。
+     */
+    @Override
+    public CompletableFuture<Integer> requestChoice(String prompt, List<String> options) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        List<String> choices = new ArrayList<>(options);
 
         Platform.runLater(() -> {
             if (gameWindow != null) {
-                gameWindow.showChoiceDialog(prompt, options, choice -> {
-                    userResponse = choice;
-                    responseLatch.countDown();
-                });
+                gameWindow.showChoiceDialog(prompt, choices, future::complete);
             }
         });
 
-        try {
-            responseLatch.await();
-            return (Integer) userResponse;
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-            return 0;
-        }
+        return future;
     }
 
     @Override
@@ -37,7 +37,7 @@ public class GameWindow {
     private static final int RIGHT_PANEL_WIDTH = 300;
     private static final int BOTTOM_PANEL_HEIGHT = 120;
 
-    public GameWindow() {
+    public GameWindow(IGameContext context) {
         activeNotifications = new ArrayList<>();
 
         BorderPane mainPane = new BorderPane();
@@ -83,7 +83,7 @@ public class GameWindow {
         bottomPanel.setMinHeight(BOTTOM_PANEL_HEIGHT);
         bottomPanel.setMaxHeight(BOTTOM_PANEL_HEIGHT);
         mainPane.setBottom(bottomPanel);
-        subscribeToGameEvents();
+        subscribeToGameEvents(context);
         notificationContainer = new VBox(NOTIFICATION_SPACING);
         notificationContainer.setAlignment(Pos.TOP_RIGHT);
         notificationContainer.setPadding(new Insets(10));
@@ -98,9 +98,10 @@ public class GameWindow {
         scene = new Scene(glassRoot, WINDOW_WIDTH, WINDOW_HEIGHT);
     }
 
-    private void subscribeToGameEvents() {
-        game.engine.EventBus eventBus = game.engine.EventBus.getInstance();
-        eventBus.subscribe("GameOver", event -> {
+    private void subscribeToGameEvents(IGameContext context) {
+        IEventBus eventBus = context.getEventBus();
+        // 游戏结束的提示必须送达，不能放在会丢弃事件的 RENDER 通道上
+        eventBus.subscribe(EventType.GAME_OVER, event -> {
             IPlayer winner = (IPlayer) event.getData();
             final String message = "🎉 游戏结束！\n" +
                     (winner != null ? "恭喜 " + winner.getName() + " 获得胜利！" : "");
@@ -108,7 +109,7 @@ public class GameWindow {
             javafx.application.Platform.runLater(() -> {
                 showMessage(message, false);
             });
-        });
+        }, IEventBus.Lane.BACKGROUND);
     }
 
     private VBox createUserInputPanel() {
@@ -199,10 +200,7 @@ public class GameWindow {
                             + "; -fx-font-weight: bold;");
         }
 
-        IGameContext context = game.engine.GameContext.getInstance();
-        if (context != null) {
-            mapRenderer.renderMap(context);
-        }
+        mapRenderer.renderMap(gameContext);
         updatePlayerInfo(gameContext);
     }
 
@@ -211,7 +209,7 @@ public class GameWindow {
             playerInfoPanel.getChildren().remove(2, playerInfoPanel.getChildren().size());
         }
 
-        IPlayer[] players = game.engine.GameContext.getInstance().getPlayers();
+        IPlayer[] players = gameContext.getPlayers();
         if (players == null) {
             return;
         }
@@ -234,7 +232,7 @@ public class GameWindow {
             playerBox.getChildren().addAll(nameLabel, colorLabel);
 
             IChessman[] chessmen = player.getChessman();
-            IBoard board = game.engine.GameContext.getInstance().getBoard();
+            IBoard board = gameContext.getBoard();
             for (int i = 0; i < chessmen.length; i++) {
                 IChessman chessman = chessmen[i];
                 int position = chessman.getPosition();
@@ -242,8 +240,8 @@ public class GameWindow {
 
                 if (position == -1) {
                     status = "待起飞";
-                } else if (board != null && game.engine.GameContext.getInstance().getMapProvider() != null &&
-                        position == game.engine.GameContext.getInstance().getMapProvider()
+                } else if (board != null && gameContext.getMapProvider() != null &&
+                        position == gameContext.getMapProvider()
                                 .getEndPosition(player.getPlayerId())) {
                     status = "已到达终点";
                 } else {
@@ -6,12 +6,11 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
 import javafx.animation.AnimationTimer;
-import javafx.application.Platform;
 import game.api.*;
 import ui.api.IMapRenderer;
 import ui.util.ColorFactory;
-import plugin.api.IMapProvider;
 import plugin.api.Node;
+import plugin.api.PathTable;
 
 import java.util.List;
 import java.util.HashMap;
@@ -23,10 +22,10 @@ public class MapRenderer implements IMapRenderer {
 
     private static final int CELL_SIZE = 60;
     private static final int PADDING = 20;
-    private Map<String, ChessmanAnimation> animations = new HashMap<>();
+    private final MoveTimeline timeline = new MoveTimeline();
     private AnimationTimer animationTimer;
     private IGameContext currentContext;
-    private Node[][] currentMap;
+    private PathTable currentPath;
 
     public MapRenderer() {
         canvas = new Canvas(800, 600);
@@ -41,16 +40,7 @@ public class MapRenderer implements IMapRenderer {
         animationTimer = new AnimationTimer() {
             @Override
             public void handle(long now) {
-                boolean hasActiveAnimations = false;
-
-                for (ChessmanAnimation anim : animations.values()) {
-                    if (anim.isActive()) {
-                        anim.update(now);
-                        hasActiveAnimations = true;
-                    }
-                }
-
-                if (hasActiveAnimations && currentContext != null) {
+                if (timeline.update(now) && currentContext != null) {
                     renderWithAnimations();
                 }
             }
@@ -58,63 +48,6 @@ public class MapRenderer implements IMapRenderer {
         animationTimer.start();
     }
 
-    private static class ChessmanAnimation {
-        int fromPos;
-        int toPos;
-        List<Integer> path; // 移动路径
-        int currentPathIndex = 0;
-        long startTime;
-        long lastStepTime;
-        boolean active;
-
-        static final long STEP_DURATION = 200_000_000L; // 200ms per step (纳秒)
-
-        ChessmanAnimation(int from, int to, List<Integer> movePath) {
-            this.fromPos = from;
-            this.toPos = to;
-            this.path = movePath;
-            this.currentPathIndex = 0;
-            this.active = true;
-        }
-
-        void start(long now) {
-            this.startTime = now;
-            this.lastStepTime = now;
-        }
-
-        void update(long now) {
-            if (!active || path == null || path.isEmpty()) {
-                active = false;
-                return;
-            }
-
-            if (startTime == 0) {
-                start(now);
-            }
-
-            // 检查是否该移动到下一步
-            if (now - lastStepTime >= STEP_DURATION) {
-                currentPathIndex++;
-                lastStepTime = now;
-
-                if (currentPathIndex >= path.size()) {
-                    active = false;
-                }
-            }
-        }
-
-        int getCurrentPosition() {
-            if (path == null || path.isEmpty() || currentPathIndex >= path.size()) {
-                return toPos;
-            }
-            return path.get(currentPathIndex);
-        }
-
-        boolean isActive() {
-            return active;
-        }
-    }
-
     @Override
     public void renderMap(IGameContext context) {
         this.currentContext = context;
@@ -125,91 +58,65 @@ public class MapRenderer implements IMapRenderer {
             return;
         }
 
-        IMapProvider mapProvider = context.getMapProvider();
-        Node[][] map = mapProvider.getMap();
-        this.currentMap = map;
+        PathTable path = context.getPathTable();
+        this.currentPath = path;
 
-        if (map == null || map.length == 0) {
+        if (path == null || path.size() == 0) {
             clearCanvas();
             drawErrorMessage("地图数据为空");
             return;
         }
 
-        int canvasWidth = map[0].length * CELL_SIZE + PADDING * 2;
-        int canvasHeight = map.length * CELL_SIZE + PADDING * 2;
+        int canvasWidth = path.getWidth() * CELL_SIZE + PADDING * 2;
+        int canvasHeight = path.getHeight() * CELL_SIZE + PADDING * 2;
         canvas.setWidth(canvasWidth);
         canvas.setHeight(canvasHeight);
 
         clearCanvas();
 
-        drawGrid(map, currentContext);
+        drawGrid(path, currentContext);
 
-        drawChessmen(map, currentContext);
+        drawChessmenWithAnimation(path, currentContext);
     }
 
     private void renderWithAnimations() {
-        if (currentContext == null || currentMap == null) {
+        if (currentContext == null || currentPath == null) {
             return;
         }
         clearCanvas();
-        drawGrid(currentMap, currentContext);
-        drawChessmenWithAnimation(currentMap, currentContext);
+        drawGrid(currentPath, currentContext);
+        drawChessmenWithAnimation(currentPath, currentContext);
     }
 
     /**
-     * 启动棋子移动动画
+     * 排队播放一段棋子移动动画，可在任意线程调用
      * 
      * @param chessmanId 棋子唯一标识符
-     * @param fromPos    起始位置
-     * @param toPos      目标位置
-     * @param path       移动路径（经过的所有位置）
+     * @param path       移动路径（起点、经过的每一格与终点）
      */
-    public void animateChessmanMove(String chessmanId, int fromPos, int toPos, List<Integer> path) {
-        Platform.runLater(() -> {
-            ChessmanAnimation anim = new ChessmanAnimation(fromPos, toPos, path);
-            animations.put(chessmanId, anim);
-        });
+    public void animateChessmanMove(String chessmanId, int[] path) {
+        timeline.enqueue(chessmanId, path);
     }
 
-    private void drawChessmenWithAnimation(Node[][] map, IGameContext context) {
+    private void drawChessmenWithAnimation(PathTable path, IGameContext context) {
+        // 按时间线给出的显示位置分组；引擎可能已经领先于动画，因此逐个棋子查询而不是按实际位置查询
         Map<Integer, List<IChessman>> positionMap = new HashMap<>();
-
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                Node node = map[y][x];
-                int position = node.getPosition();
-
-                if (position < 0)
-                    continue;
-
-                List<IChessman> chessmenAtPos = context.getBoard().getChessmenAt(position);
-
-                for (IChessman chessman : chessmenAtPos) {
-                    String chessmanId = getChessmanId(chessman);
-                    ChessmanAnimation anim = animations.get(chessmanId);
-
-                    int renderPos = position;
-                    if (anim != null && anim.isActive()) {
-                        renderPos = anim.getCurrentPosition();
+        IPlayer[] players = context.getPlayers();
+        if (players != null) {
+            for (IPlayer player : players) {
+                for (IChessman chessman : player.getChessman()) {
+                    int renderPos = timeline.positionOf(getChessmanId(chessman), chessman.getPosition());
+                    if (renderPos >= 0) {
+                        positionMap.computeIfAbsent(renderPos, k -> new java.util.ArrayList<>()).add(chessman);
                     }
-
-                    positionMap.computeIfAbsent(renderPos, k -> new java.util.ArrayList<>()).add(chessman);
                 }
             }
         }
 
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                Node node = map[y][x];
-                int position = node.getPosition();
-
-                if (position < 0)
-                    continue;
-
-                List<IChessman> chessmen = positionMap.get(position);
-                if (chessmen != null && !chessmen.isEmpty()) {
-                    drawChessmenAtCell(x, y, chessmen);
-                }
+        for (Map.Entry<Integer, List<IChessman>> entry : positionMap.entrySet()) {
+            int position = entry.getKey();
+            if (path.contains(position) && !entry.getValue().isEmpty()) {
+                drawChessmenAtCell(path.getX(position), path.getY(position), entry.getValue());
             }
         }
     }
@@ -223,17 +130,15 @@ public class MapRenderer implements IMapRenderer {
         gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
     }
 
-    private void drawGrid(Node[][] map, IGameContext context) {
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                Node node = map[y][x];
-
-                if (node.getBlock() != null && "Empty".equals(node.getBlock().getType())) {
-                    continue;
-                }
-
-                drawCell(x, y, node);
+    private void drawGrid(PathTable path, IGameContext context) {
+        // 只绘制路径上的格子，空白填充格不参与
+        for (int position = 0; position < path.size(); position++) {
+            Node node = path.getNode(position);
+            if (node == null || (node.getBlock() != null && "Empty".equals(node.getBlock().getType()))) {
+                continue;
             }
+
+            drawCell(path.getX(position), path.getY(position), node);
         }
     }
 
@@ -261,23 +166,6 @@ public class MapRenderer implements IMapRenderer {
         gc.fillText(String.valueOf(node.getPosition()), cellX + CELL_SIZE / 2, cellY + CELL_SIZE - 10);
     }
 
-    private void drawChessmen(Node[][] map, IGameContext context) {
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                Node node = map[y][x];
-                int position = node.getPosition();
-                if (position < 0) {
-                    continue;
-                }
-
-                List<IChessman> chessmenAtPos = context.getBoard().getChessmenAt(position);
-                if (!chessmenAtPos.isEmpty()) {
-                    drawChessmenAtCell(x, y, chessmenAtPos);
-                }
-            }
-        }
-    }
-
     private void drawChessmenAtCell(int x, int y, List<IChessman> chessmen) {
         double cellX = PADDING + x * CELL_SIZE;
         double cellY = PADDING + y * CELL_SIZE;
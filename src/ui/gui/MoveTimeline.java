@@ -0,0 +1,103 @@
+package ui.gui;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import game.engine.AnimationConfig;
+
+/**
+ * 棋子移动的回放时间线
+ * 引擎以全速完成移动并发布整段路径，时间线把路径排队，由 FX 线程按
+ * AnimationConfig 的步进间隔逐格回放，引擎无需等待动画。
+ * 积压的移动较多时按积压数量加快回放（最多 CATCH_UP_LIMIT 倍），避免画面越落越远。
+ */
+final class MoveTimeline {
+    private static final int CATCH_UP_LIMIT = 8;
+
+    // 任意线程入队，FX 线程取出
+    private final Queue<Move> incoming = new ConcurrentLinkedQueue<>();
+    // 以下字段只在 FX 线程访问
+    private final ArrayDeque<Move> pending = new ArrayDeque<>();
+    private Move current;
+    private int step;
+    private long lastStepTime;
+
+    /**
+     * 排队一段移动，可在任意线程调用
+     *
+     * @param chessmanId 棋子唯一标识符
+     * @param path       起点、经过的每一格与终点
+     */
+    void enqueue(String chessmanId, int[] path) {
+        if (path != null && path.length > 1) {
+            incoming.add(new Move(chessmanId, path));
+        }
+    }
+
+    /**
+     * 推进回放，由 AnimationTimer 每帧调用
+     *
+     * @return 本帧棋子的显示位置是否有变化
+     */
+    boolean update(long now) {
+        drainIncoming();
+
+        if (current == null) {
+            current = pending.poll();
+            if (current == null) {
+                return false;
+            }
+            step = 0;
+            lastStepTime = now;
+            return true;
+        }
+
+        long stepNanos = AnimationConfig.getMoveDelay() * 1_000_000L
+                / Math.min(pending.size() + 1, CATCH_UP_LIMIT);
+        if (now - lastStepTime < stepNanos) {
+            return false;
+        }
+        lastStepTime = now;
+        step++;
+        if (step >= current.path.length - 1) {
+            current = null; // 已到终点，之后按棋子的实际位置显示
+        }
+        return true;
+    }
+
+    /**
+     * 棋子当前应显示的位置
+     * 正在回放的棋子显示在路径上的当前格；还有移动在排队的棋子停在第一段移动的起点；
+     * 其余棋子显示在实际位置。
+     */
+    int positionOf(String chessmanId, int actualPosition) {
+        drainIncoming();
+        if (current != null && current.chessmanId.equals(chessmanId)) {
+            return current.path[step];
+        }
+        for (Move move : pending) {
+            if (move.chessmanId.equals(chessmanId)) {
+                return move.path[0];
+            }
+        }
+        return actualPosition;
+    }
+
+    private void drainIncoming() {
+        Move move;
+        while ((move = incoming.poll()) != null) {
+            pending.add(move);
+        }
+    }
+
+    private static final class Move {
+        final String chessmanId;
+        final int[] path;
+
+        Move(String chessmanId, int[] path) {
+            this.chessmanId = chessmanId;
+            this.path = path;
+        }
+    }
+}
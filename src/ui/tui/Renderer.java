@@ -5,6 +5,7 @@ import ui.util.ColorFactory;
 import game.api.*;
 import plugin.api.IMapProvider;
 import plugin.api.Node;
+import plugin.api.PathTable;
 
 import java.util.List;
 
@@ -46,20 +47,20 @@ public class Renderer implements IMapRenderer {
         this.lastContext = context;
 
         IMapProvider mapProvider = context.getMapProvider();
-        Node[][] map = mapProvider.getMap();
+        PathTable path = context.getPathTable();
 
         System.out.println("\n" + "-".repeat(60));
         System.out.println("                      游戏地图");
         System.out.println("-".repeat(60) + "\n");
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                Node node = map[y][x];
-                if (node.getBlock() != null && "Empty".equals(node.getBlock().getType())) {
+        for (int y = 0; y < path.getHeight(); y++) {
+            for (int x = 0; x < path.getWidth(); x++) {
+                int position = path.positionAt(x, y);
+                Node node = path.getNode(position);
+                if (node == null || (node.getBlock() != null && "Empty".equals(node.getBlock().getType()))) {
                     System.out.print("   ");
                     continue;
                 }
 
-                int position = node.getPosition();
                 List<IChessman> chessmenAtPos = context.getBoard().getChessmenAt(position);
 
                 if (!chessmenAtPos.isEmpty()) {
@@ -97,17 +98,15 @@ public class Renderer implements IMapRenderer {
         java.util.Map<String, plugin.api.IBlock> blockExamples = new java.util.LinkedHashMap<>();
 
         IMapProvider mapProvider = lastContext.getMapProvider();
-        Node[][] map = mapProvider.getMap();
-
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                Node node = map[y][x];
-                if (node.getBlock() != null) {
-                    String blockType = node.getBlock().getType();
-                    if (!blockTypesSeen.contains(blockType)) {
-                        blockTypesSeen.add(blockType);
-                        blockExamples.put(blockType, node.getBlock());
-                    }
+        PathTable path = lastContext.getPathTable();
+
+        for (int position = 0; position < path.size(); position++) {
+            plugin.api.IBlock block = path.getBlock(position);
+            if (block != null) {
+                String blockType = block.getType();
+                if (!blockTypesSeen.contains(blockType)) {
+                    blockTypesSeen.add(blockType);
+                    blockExamples.put(blockType, block);
                 }
             }
         }
@@ -19,7 +19,6 @@ public class TUI implements IUserInterface {
             this.scanner = new Scanner(System.in);
         }
         this.renderer = new Renderer();
-        game.engine.AnimationConfig.setMoveDelay(0);
     }
 
     @Override
@@ -36,13 +35,11 @@ public class TUI implements IUserInterface {
     }
 
     private void subscribeToBlockEffects() {
-        game.engine.EventBus eventBus = game.engine.EventBus.getInstance();
+        IEventBus eventBus = gameContext.getEventBus();
 
-        eventBus.subscribe("BlockEffect", event -> {
-            @SuppressWarnings("unchecked")
-            java.util.Map<String, Object> data = (java.util.Map<String, Object>) event.getData();
-            if (data != null) {
-                String message = (String) data.get("message");
+        eventBus.subscribe(EventType.BLOCK_EFFECT, event -> {
+            if (event instanceof GameEvents.BlockEffect) {
+                String message = ((GameEvents.BlockEffect) event).getMessage();
                 if (message != null) {
                     displayMessage("\n" + "!".repeat(60));
                     displayMessage("🎯 特殊方块触发！");
@@ -52,7 +49,7 @@ public class TUI implements IUserInterface {
             }
         });
 
-        eventBus.subscribe("GameOver", event -> {
+        eventBus.subscribe(EventType.GAME_OVER, event -> {
             IPlayer winner = (IPlayer) event.getData();
             displayMessage("\n" + "=".repeat(60));
             displayMessage("🎉 游戏结束！");
@@ -82,18 +79,18 @@ public class TUI implements IUserInterface {
 
     @Override
     public void update() {
-        if (gameContext == null) {
+        update(gameContext);
+    }
+
+    @Override
+    public void update(IGameContext view) {
+        if (view == null) {
             displayError("游戏状态未初始化，无法更新显示");
             return;
         }
 
-        renderer.renderMap(gameContext);
-        IGameContext context = game.engine.GameContext.getInstance();
-        if (context != null) {
-            renderer.renderMap(context);
-            IPlayer[] players = context.getPlayers();
-            renderer.renderPlayers(players);
-        }
+        renderer.renderMap(view);
+        renderer.renderPlayers(view.getPlayers());
 
     }
 
@@ -107,8 +104,18 @@ public class TUI implements IUserInterface {
         System.err.println("[ERROR] 错误: " + error);
     }
 
+    /**
+     * 等待渲染通道上尚未完成的刷新，避免地图输出夹在提示与输入之间
+     */
+    private void awaitRendering() {
+        if (gameContext != null) {
+            gameContext.getEventBus().awaitIdle();
+        }
+    }
+
     @Override
     public int getUserChoice(String prompt, List<String> options) {
+        awaitRendering();
         displayMessage("\n" + prompt);
         for (int i = 0; i < options.size(); i++) {
             displayMessage("  [" + i + "] " + options.get(i));
@@ -138,12 +145,14 @@ public class TUI implements IUserInterface {
 
     @Override
     public String getUserInput(String prompt) {
+        awaitRendering();
         System.out.print(prompt + ": ");
         return scanner.nextLine().trim();
     }
 
     @Override
     public boolean confirm(String message) {
+        awaitRendering();
         System.out.print(message + " (y/n): ");
         String input = scanner.nextLine().trim().toLowerCase();
         return input.equals("y") || input.equals("yes");